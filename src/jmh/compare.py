@@ -0,0 +1,57 @@
+#!/usr/bin/env python3
+"""Compara dois resultados JSON do JMH (mvn -Pbenchmarks test-compile exec:exec).
+
+Uso: python3 src/jmh/compare.py baseline.json atual.json [--threshold 10]
+
+Sai com código 1 se algum benchmark piorar mais que o threshold (em %).
+"""
+import argparse
+import json
+import sys
+
+# Modos em que um score maior é melhor; nos demais (avgt, sample, ss) menor é melhor
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+            name = entry["benchmark"].rsplit(".", 2)
+            key = ".".join(name[-2:]) + (f"[{params}]" if params else "")
+            results[key] = entry
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0)
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+
+    regressions = 0
+    width = max((len(k) for k in current), default=10)
+    print(f"{'benchmark':<{width}}  {'baseline':>12}  {'atual':>12}  {'unidade':<8}  {'delta':>8}")
+    for key in sorted(current):
+        metric = current[key]["primaryMetric"]
+        if key not in baseline:
+            print(f"{key:<{width}}  {'-':>12}  {metric['score']:>12.3f}  {metric['scoreUnit']:<8}  {'novo':>8}")
+            continue
+        old = baseline[key]["primaryMetric"]["score"]
+        new = metric["score"]
+        change = (new - old) / old * 100 if old else 0.0
+        worse = -change if current[key]["mode"] in HIGHER_IS_BETTER else change
+        flag = "  <-- regressão" if worse > args.threshold else ""
+        regressions += bool(flag)
+        print(f"{key:<{width}}  {old:>12.3f}  {new:>12.3f}  {metric['scoreUnit']:<8}  {change:>+7.1f}%{flag}")
+
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == "__main__":
+    main()
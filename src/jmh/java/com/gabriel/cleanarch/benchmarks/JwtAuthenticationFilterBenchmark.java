@@ -0,0 +1,81 @@
+package com.gabriel.cleanarch.benchmarks;
+
+import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.application.auth.PrincipalCache;
+import com.gabriel.cleanarch.application.auth.TokenRevocationList;
+import com.gabriel.cleanarch.config.AuthMode;
+import com.gabriel.cleanarch.config.JwtAuthenticationFilter;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} in stateless mode, with a chain that only
+ * reads the resulting authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtService jwtService = new JwtService(Duration.ofMinutes(15), 10_000, Duration.ofMinutes(5), meterRegistry);
+        // No modo stateless o PrincipalCache só é usado para tokens sem a claim uid
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                new PrincipalCache(null, 10_000, Duration.ofMinutes(1), meterRegistry),
+                // Sem revogações, como para quase todo token: o filtro de Bloom responde sozinho
+                new TokenRevocationList(null, null, Duration.ofSeconds(2), Duration.ofMinutes(1),
+                        Duration.ofMinutes(10), 100_000, 0.01, meterRegistry),
+                meterRegistry
+        );
+        ReflectionTestUtils.setField(filter, "authMode", AuthMode.STATELESS);
+
+        User user = User.builder()
+                .id(42L)
+                .email("bench@example.com")
+                .role(Role.USER)
+                .build();
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public void authenticatedRequest(Blackhole blackhole) throws Exception {
+        doFilter(authorization, blackhole);
+    }
+
+    @Benchmark
+    public void anonymousRequest(Blackhole blackhole) throws Exception {
+        doFilter(null, blackhole);
+    }
+
+    private void doFilter(String header, Blackhole blackhole) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        if (header != null) {
+            request.addHeader("Authorization", header);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) ->
+                    blackhole.consume(SecurityContextHolder.getContext().getAuthentication()));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gabriel.cleanarch.benchmarks;
+
+import com.gabriel.cleanarch.application.auth.AuthenticatedUser;
+import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.User;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification, with and without the cache of verified tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService cachedService;
+    private JwtService uncachedService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedService = new JwtService(Duration.ofMinutes(15), 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry());
+        // TTL zero: toda verificação refaz o parse e a checagem da assinatura
+        uncachedService = new JwtService(Duration.ofMinutes(15), 10_000, Duration.ZERO, new SimpleMeterRegistry());
+        user = User.builder()
+                .id(42L)
+                .email("bench@example.com")
+                .role(Role.USER)
+                .build();
+        token = cachedService.generateToken(user);
+        cachedService.parseToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseTokenCached() {
+        return cachedService.parseToken(token);
+    }
+
+    @Benchmark
+    public Claims parseTokenUncached() {
+        return uncachedService.parseToken(token);
+    }
+
+    @Benchmark
+    public AuthenticatedUser extractPrincipal() {
+        return cachedService.extractPrincipal(cachedService.parseToken(token));
+    }
+}
@@ -0,0 +1,92 @@
+package com.gabriel.cleanarch.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.gabriel.cleanarch.application.task.TaskPage;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import io.airlift.compress.zstd.ZstdOutputStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU and bytes on the wire of a page of tasks, for each codec (JSON with plain Jackson,
+ * JSON with Blackbird as served by the application, CBOR) and content encoding (none, gzip, zstd).
+ * <p>
+ * The encoded size of each combination is printed once per fork, before the measurements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskEncodingBenchmark {
+
+    @Param({"json", "json-blackbird", "cbor"})
+    public String codec;
+
+    @Param({"identity", "gzip", "zstd"})
+    public String encoding;
+
+    @Param({"1000"})
+    public int size;
+
+    private ObjectWriter writer;
+    private TaskPage page;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!codec.equals("json")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        if (codec.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        }
+        writer = builder.build().writerFor(TaskPage.class);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<TaskView> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskView(
+                    (long) i,
+                    "Task " + i,
+                    "Descrição da task " + i + " com um texto de tamanho típico",
+                    i % 3 == 0,
+                    createdAt.plusSeconds(i),
+                    (long) i % 5
+            ));
+        }
+        page = new TaskPage(tasks, "MjAyNC0wMS0wMVQxMDowMHwxMjM");
+
+        System.out.printf("%n%s/%s: %d bytes for %d tasks%n", codec, encoding, encode().length, size);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        // writeValue fecha o stream, o que também finaliza o gzip/zstd
+        writer.writeValue(compress(bytes), page);
+        return bytes.toByteArray();
+    }
+
+    private OutputStream compress(OutputStream out) throws IOException {
+        return switch (encoding) {
+            case "gzip" -> new GZIPOutputStream(out, 8192);
+            case "zstd" -> new ZstdOutputStream(out);
+            default -> out;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.gabriel.cleanarch.benchmarks;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gabriel.cleanarch.application.task.TaskPage;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of task lists of varying size, as a JSON page and as NDJSON lines,
+ * with an {@link ObjectMapper} configured like Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskJsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter lineWriter;
+    private TaskPage page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        lineWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<TaskView> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(new TaskView(
+                    (long) i,
+                    "Task " + i,
+                    "Descrição da task " + i + " com um texto de tamanho típico",
+                    i % 3 == 0,
+                    createdAt.plusSeconds(i),
+                    (long) i % 5
+            ));
+        }
+        page = new TaskPage(tasks, "MjAyNC0wMS0wMVQxMDowMHwxMjM");
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public void ndjson() throws Exception {
+        try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            generator.setRootValueSeparator(null);
+            for (TaskView task : page.items()) {
+                lineWriter.writeValue(generator, task);
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
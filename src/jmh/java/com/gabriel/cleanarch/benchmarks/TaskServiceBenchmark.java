@@ -0,0 +1,109 @@
+package com.gabriel.cleanarch.benchmarks;
+
+import com.gabriel.cleanarch.CleanArchApiApplication;
+import com.gabriel.cleanarch.application.task.NewTask;
+import com.gabriel.cleanarch.application.task.TaskPage;
+import com.gabriel.cleanarch.application.task.TaskService;
+import com.gabriel.cleanarch.domain.task.Task;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.User;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TaskService} operations against an embedded PostgreSQL with the real migrations
+ * (indexes, full-text search and triggers), through the full Spring and JPA stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    @Param({"1000"})
+    public int tasks;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long userId;
+    private Long taskId;
+    private TaskFilter openNewestFirst;
+    private TaskFilter textSearch;
+
+    @Setup
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(CleanArchApiApplication.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos, para prevalecer sobre o application.properties
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--app.tasks.outbox.enabled=false",
+                        "--logging.level.root=WARN"
+                );
+
+        taskService = context.getBean(TaskService.class);
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .email("bench@example.com")
+                .password("{noop}bench")
+                .role(Role.USER)
+                .build());
+        userId = user.getId();
+
+        List<NewTask> newTasks = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            newTasks.add(new NewTask("Task " + i, i % 10 == 0 ? "relatório mensal" : "descrição " + i));
+        }
+        taskService.createTasks(userId, newTasks);
+        taskId = taskService.createTask(userId, "Atualizada", null).getId();
+
+        openNewestFirst = new TaskFilter(false, null, null, null, true, false);
+        textSearch = new TaskFilter(null, null, null, "relatório", false, false);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public TaskPage firstPage() {
+        return taskService.findPageByUser(userId, taskService.findListVersion(userId), TaskFilter.NONE, null, 50);
+    }
+
+    @Benchmark
+    public TaskPage filteredPage() {
+        return taskService.findPageByUser(userId, taskService.findListVersion(userId), openNewestFirst, null, 50);
+    }
+
+    @Benchmark
+    public TaskPage textSearchPage() {
+        return taskService.findPageByUser(userId, taskService.findListVersion(userId), textSearch, null, 50);
+    }
+
+    @Benchmark
+    public boolean updateTask() {
+        return taskService.updateTask(userId, taskId, null, "Atualizada", "descrição", false);
+    }
+
+    @Benchmark
+    public boolean createAndDeleteTask() {
+        Task task = taskService.createTask(userId, "Temporária", null);
+        return taskService.deleteTask(userId, task.getId());
+    }
+}
@@ -0,0 +1,139 @@
+package com.gabriel.cleanarch.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and status codes per endpoint.
+ * <p>
+ * Latencies are recorded in microseconds from the moment a request was scheduled to be sent, not from
+ * when it was actually sent, so requests delayed by a slow server are not left out of the percentiles
+ * (coordinated omission).
+ */
+final class LatencyReport {
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<Integer, LongAdder>> statuses = new EnumMap<>(Operation.class);
+    private volatile long recordFrom = Long.MIN_VALUE;
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            statuses.put(operation, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Ignores from now on the requests scheduled before the given time, e.g. during the warmup.
+     * @param nanoTime a {@link System#nanoTime()}
+     */
+    void recordFrom(long nanoTime) {
+        this.recordFrom = nanoTime;
+    }
+
+    /**
+     * Records a completed request, unless it was scheduled before the time set by {@link #recordFrom(long)}.
+     * @param operation the endpoint called
+     * @param scheduledAt the {@link System#nanoTime()} at which the request was scheduled
+     * @param status the HTTP status code, or 0 if the request failed without a response
+     */
+    void record(Operation operation, long scheduledAt, int status) {
+        if (scheduledAt - recordFrom < 0) {
+            return;
+        }
+        recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt));
+        statuses.get(operation).computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    /**
+     * Builds the report of everything recorded so far.
+     * @param elapsed the time over which the requests were recorded
+     * @return the report, per endpoint and in total
+     */
+    Map<String, Object> summarize(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        Map<Integer, Long> totalStatuses = new TreeMap<>();
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = recorders.get(operation).getIntervalHistogram();
+            Map<Integer, Long> byStatus = new TreeMap<>();
+            statuses.get(operation).forEach((status, count) -> byStatus.put(status, count.sum()));
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            byStatus.forEach((status, count) -> totalStatuses.merge(status, count, Long::sum));
+            endpoints.put(operation.endpoint(), stats(histogram, byStatus, seconds));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("durationSeconds", seconds);
+        report.put("total", stats(total, totalStatuses, seconds));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    static void print(Map<String, Object> report, PrintStream out) {
+        out.printf("%n%-26s %9s %9s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        ((Map<String, Object>) report.get("endpoints")).forEach((endpoint, stats) ->
+                printLine(out, endpoint, (Map<String, Object>) stats));
+        printLine(out, "total", (Map<String, Object>) report.get("total"));
+    }
+
+    static void write(Map<String, Object> report, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+
+    private static Map<String, Object> stats(Histogram histogram, Map<Integer, Long> byStatus, double seconds) {
+        long count = histogram.getTotalCount();
+        long errors = byStatus.entrySet().stream()
+                .filter(e -> e.getKey() < 200 || e.getKey() >= 400)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", count);
+        stats.put("throughput", count / seconds);
+        stats.put("errors", errors);
+        stats.put("statuses", byStatus);
+        stats.put("meanMs", histogram.getMean() / 1000);
+        stats.put("p50Ms", millis(histogram, 50));
+        stats.put("p90Ms", millis(histogram, 90));
+        stats.put("p99Ms", millis(histogram, 99));
+        stats.put("p999Ms", millis(histogram, 99.9));
+        stats.put("maxMs", histogram.getMaxValue() / 1000.0);
+        return stats;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static void printLine(PrintStream out, String endpoint, Map<String, Object> stats) {
+        out.printf("%-26s %9d %9.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                endpoint, stats.get("requests"), stats.get("throughput"), stats.get("errors"),
+                stats.get("p50Ms"), stats.get("p99Ms"), stats.get("p999Ms"), stats.get("maxMs"));
+    }
+}
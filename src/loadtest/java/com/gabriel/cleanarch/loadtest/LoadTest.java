@@ -0,0 +1,284 @@
+package com.gabriel.cleanarch.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gabriel.cleanarch.CleanArchApiApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of the HTTP API.
+ * <p>
+ * Unless {@code --target} points to a running deployment, the application is started against an
+ * embedded PostgreSQL, with the real migrations, and seeded by the bulk seeder. A number of seeded
+ * users are logged in, then a mix of register, login, list, create, update and delete requests is
+ * sent at a constant rate. The schedule does not wait for responses (open model), so a slow server
+ * shows up as higher latencies instead of as fewer requests.
+ * <p>
+ * Throughput and latency percentiles per endpoint are printed and written as JSON to {@code --out}.
+ * See {@link LoadTestOptions} for the options.
+ */
+public final class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final LatencyReport report = new LatencyReport();
+    private final List<Session> sessions = new ArrayList<>();
+    private final Operation[] schedule;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong registered = new AtomicLong();
+
+    private LoadTest(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        List<Operation> weighted = new ArrayList<>();
+        options.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        this.schedule = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        if (options.target() != null) {
+            new LoadTest(options, options.target()).run();
+            return;
+        }
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+             ConfigurableApplicationContext context = startApplication(options, postgres)) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            new LoadTest(options, "http://localhost:" + port).run();
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, EmbeddedPostgres postgres) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.datasource.password", "postgres");
+        properties.put("spring.r2dbc.url", "r2dbc:postgresql://localhost:" + postgres.getPort() + "/postgres");
+        properties.put("server.port", "0");
+        properties.put("app.tasks.outbox.sink", "memory");
+        properties.put("app.rate-limit.enabled", "false");
+        // Os tokens do login inicial valem a execução inteira, sem refresh
+        properties.put("app.jwt.access-token-ttl", "1d");
+        properties.put("app.seed.bulk.users", String.valueOf(options.users()));
+        properties.put("app.seed.bulk.tasks-per-user", String.valueOf(options.tasksPerUser()));
+        properties.put("app.seed.bulk.password", options.password());
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.gabriel.cleanarch.infrastructure.seed", "INFO");
+        // Os argumentos repassados (ex.: --spring.profiles.active=virtual-threads) prevalecem
+        for (String arg : options.appArgs()) {
+            int eq = arg.indexOf('=');
+            properties.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        // Como argumentos, para prevalecer sobre o application.properties
+        return new SpringApplicationBuilder(CleanArchApiApplication.class)
+                .run(properties.entrySet().stream()
+                        .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                        .toArray(String[]::new));
+    }
+
+    private void run() throws Exception {
+        logIn();
+
+        System.out.printf("Carga: %d req/s por %ds (aquecimento %ds), %d sessões, mix %s, alvo %s%n",
+                options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(),
+                sessions.size(), options.mix(), baseUrl);
+
+        long lag = drive();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("target", baseUrl);
+        result.put("rate", options.rate());
+        result.put("sessions", sessions.size());
+        result.put("mix", options.mix());
+        result.put("appArgs", options.appArgs());
+        result.put("maxSchedulingLagMs", lag / 1_000_000.0);
+        result.putAll(report.summarize(options.duration()));
+
+        LatencyReport.print(result, System.out);
+        LatencyReport.write(result, options.out());
+        System.out.println("\nRelatório: " + options.out().toAbsolutePath());
+    }
+
+    /**
+     * Logs in the first {@code sessions} seeded users and loads the IDs of some of their tasks.
+     */
+    private void logIn() throws IOException, InterruptedException {
+        for (int i = 1; i <= options.sessions(); i++) {
+            String email = "user" + i + "@loadtest.local";
+            HttpResponse<String> login = sendWithRetry(json("/api/auth/login", "POST", null,
+                    Map.of("email", email, "password", options.password())));
+            if (login.statusCode() != 200) {
+                throw new IllegalStateException("Login de " + email + " falhou (" + login.statusCode()
+                        + "); os usuários foram criados com app.seed.bulk.users?");
+            }
+            Session session = new Session(email, objectMapper.readTree(login.body()).get("token").asText());
+
+            HttpResponse<String> page = http.send(get("/api/tasks?limit=100", session.token()),
+                    HttpResponse.BodyHandlers.ofString());
+            for (JsonNode task : objectMapper.readTree(page.body()).get("items")) {
+                session.addTask(task.get("id").asLong());
+            }
+            sessions.add(session);
+        }
+    }
+
+    /**
+     * Sends requests at the configured rate for the warmup and the measurement, and waits for the last responses.
+     * @return the largest delay, in nanoseconds, between a request's scheduled time and when it was sent
+     */
+    private long drive() throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long maxLag = 0;
+        report.recordFrom(measureFrom);
+
+        for (long i = 0; ; i++) {
+            long scheduledAt = start + i * interval;
+            if (scheduledAt >= end) {
+                break;
+            }
+
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            if (scheduledAt >= measureFrom) {
+                maxLag = Math.max(maxLag, System.nanoTime() - scheduledAt);
+            }
+
+            Operation operation = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            execute(operation, scheduledAt).whenComplete((ignored, error) -> inFlight.release());
+        }
+
+        if (!inFlight.tryAcquire(options.maxInFlight(), REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS)) {
+            System.err.println("Algumas requisições não terminaram a tempo");
+        }
+        return maxLag;
+    }
+
+    private CompletableFuture<Void> execute(Operation operation, long scheduledAt) {
+        Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+
+        Long taskId = switch (operation) {
+            case UPDATE -> session.anyTask();
+            case DELETE -> session.takeTask();
+            default -> null;
+        };
+        // Sem tasks conhecidas, cria uma no lugar da atualização/remoção
+        Operation actual = (operation == Operation.UPDATE || operation == Operation.DELETE) && taskId == null
+                ? Operation.CREATE
+                : operation;
+
+        HttpRequest request = switch (actual) {
+            case REGISTER -> json("/api/auth/register", "POST", null, Map.of(
+                    "email", "lt-" + runId + "-" + registered.incrementAndGet() + "@loadtest.local",
+                    "password", options.password()));
+            case LOGIN -> json("/api/auth/login", "POST", null, Map.of(
+                    "email", session.email(),
+                    "password", options.password()));
+            case LIST -> get("/api/tasks?limit=50", session.token());
+            case CREATE -> json("/api/tasks", "POST", session.token(), Map.of(
+                    "title", "Carga " + scheduledAt,
+                    "description", "criada pelo teste de carga"));
+            case UPDATE -> json("/api/tasks/" + taskId, "PUT", session.token(), Map.of(
+                    "title", "Carga " + scheduledAt,
+                    "description", "atualizada pelo teste de carga",
+                    "done", true));
+            case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/tasks/" + taskId))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Authorization", "Bearer " + session.token())
+                    .DELETE()
+                    .build();
+        };
+
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    int status = error == null ? response.statusCode() : 0;
+                    report.record(actual, scheduledAt, status);
+                    if (actual == Operation.CREATE && status / 100 == 2) {
+                        session.addTask(readId(response.body()));
+                    }
+                    return null;
+                });
+    }
+
+    private HttpResponse<String> sendWithRetry(HttpRequest request) throws IOException, InterruptedException {
+        // O pool de login responde 429 quando está cheio
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 429 || attempt == 10) {
+                return response;
+            }
+            Thread.sleep(200L * attempt);
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest json(String path, String method, String token, Map<String, Object> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.gabriel.cleanarch.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Options of a load test run, parsed from {@code --name=value} arguments.
+ * <p>
+ * Arguments that are not load test options (e.g. {@code --spring.profiles.active=virtual-threads})
+ * are forwarded to the embedded application.
+ *
+ * @param target the base URL of a running deployment, or {@code null} to start the application embedded
+ * @param users the number of seeded users ({@code app.seed.bulk.users})
+ * @param tasksPerUser the number of seeded tasks per user ({@code app.seed.bulk.tasks-per-user})
+ * @param password the password of the seeded users ({@code app.seed.bulk.password})
+ * @param sessions the number of seeded users logged in and driven by the workload
+ * @param rate the target number of requests per second, across all endpoints
+ * @param warmup how long the workload runs before latencies are recorded
+ * @param duration how long latencies are recorded
+ * @param maxInFlight the maximum number of requests waiting for a response
+ * @param mix the relative weight of each operation
+ * @param out the file the JSON report is written to
+ * @param appArgs the arguments forwarded to the embedded application
+ */
+public record LoadTestOptions(
+        String target,
+        int users,
+        int tasksPerUser,
+        String password,
+        int sessions,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        int maxInFlight,
+        Map<Operation, Integer> mix,
+        Path out,
+        List<String> appArgs
+) {
+
+    private static final String DEFAULT_MIX = "list:50,create:15,update:15,delete:10,login:8,register:2";
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Argumento inválido (use --nome=valor): " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (name.contains(".")) {
+                appArgs.add(arg);
+            } else {
+                options.put(name, arg.substring(eq + 1));
+            }
+        }
+
+        int users = Integer.parseInt(options.getOrDefault("users", "100"));
+        LoadTestOptions parsed = new LoadTestOptions(
+                options.remove("target"),
+                users,
+                Integer.parseInt(options.getOrDefault("tasks", "100")),
+                options.getOrDefault("password", "loadtest123"),
+                Math.min(users, Integer.parseInt(options.getOrDefault("sessions", "50"))),
+                Integer.parseInt(options.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(options.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(options.getOrDefault("duration", "30s")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "1000")),
+                parseMix(options.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(options.getOrDefault("out", "target/loadtest-result.json")),
+                List.copyOf(appArgs)
+        );
+
+        options.keySet().removeAll(List.of("users", "tasks", "password", "sessions", "rate", "warmup",
+                "duration", "max-in-flight", "mix", "out"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + options.keySet());
+        }
+        if (parsed.sessions() < 1 || parsed.rate() < 1) {
+            throw new IllegalArgumentException("users, sessions e rate devem ser maiores que zero");
+        }
+        return parsed;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix inválido (use operacao:peso,...): " + mix);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("O mix precisa de pelo menos uma operação com peso positivo");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,24 @@
+package com.gabriel.cleanarch.loadtest;
+
+/**
+ * The endpoints exercised by the load test, each reported with its own latency histogram.
+ */
+public enum Operation {
+
+    REGISTER("POST /api/auth/register"),
+    LOGIN("POST /api/auth/login"),
+    LIST("GET /api/tasks"),
+    CREATE("POST /api/tasks"),
+    UPDATE("PUT /api/tasks/{id}"),
+    DELETE("DELETE /api/tasks/{id}");
+
+    private final String endpoint;
+
+    Operation(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+}
@@ -0,0 +1,51 @@
+package com.gabriel.cleanarch.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A logged-in seeded user and the IDs of the tasks it is known to own.
+ */
+final class Session {
+
+    private final String email;
+    private final String token;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    Session(String email, String token) {
+        this.email = email;
+        this.token = token;
+    }
+
+    String email() {
+        return email;
+    }
+
+    String token() {
+        return token;
+    }
+
+    synchronized void addTask(Long id) {
+        taskIds.add(id);
+    }
+
+    /**
+     * Returns one of the user's tasks, or {@code null} if none is known.
+     */
+    synchronized Long anyTask() {
+        return taskIds.isEmpty() ? null : taskIds.get(ThreadLocalRandom.current().nextInt(taskIds.size()));
+    }
+
+    /**
+     * Removes one of the user's tasks and returns it, so no other request updates or deletes it afterwards.
+     */
+    synchronized Long takeTask() {
+        if (taskIds.isEmpty()) {
+            return null;
+        }
+        int index = ThreadLocalRandom.current().nextInt(taskIds.size());
+        Long last = taskIds.remove(taskIds.size() - 1);
+        return index == taskIds.size() ? last : taskIds.set(index, last);
+    }
+}
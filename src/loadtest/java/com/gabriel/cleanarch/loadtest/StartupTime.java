@@ -0,0 +1,187 @@
+package com.gabriel.cleanarch.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to first request of the packaged application: from launching {@code java -jar} until
+ * {@code /actuator/health} answers 200.
+ * <p>
+ * The jar runs in its own JVM, as a new node of the autoscaler would, against an embedded PostgreSQL. A first
+ * untimed run applies the migrations and warms the disk cache, then {@code --runs} runs are timed. The minimum,
+ * median and maximum are printed and written as JSON to {@code --out}, and appended as a Markdown table row to
+ * {@code --summary} when given (e.g. {@code $GITHUB_STEP_SUMMARY}).
+ * <p>
+ * The JVM runs in the directory of the jar, so relative paths in {@code --jvm-args} resolve against it.
+ * Options, as {@code --name=value}: {@code jar} (required), {@code jvm-args} (space separated, e.g. the CDS and
+ * AOT flags), {@code label}, {@code runs} (5), {@code timeout} (2m), {@code out} and {@code summary}. Arguments
+ * with a dot (e.g. {@code --spring.profiles.active=virtual-threads}) are forwarded to the application.
+ */
+public final class StartupTime {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    private final Path jar;
+    private final List<String> jvmArgs;
+    private final List<String> appArgs;
+    private final Duration timeout;
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private StartupTime(Path jar, List<String> jvmArgs, List<String> appArgs, Duration timeout) {
+        this.jar = jar;
+        this.jvmArgs = jvmArgs;
+        this.appArgs = appArgs;
+        this.timeout = timeout;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Argumento inválido (use --nome=valor): " + arg);
+            }
+            String name = arg.substring(2, eq);
+            if (name.contains(".")) {
+                appArgs.add(arg);
+            } else {
+                options.put(name, arg.substring(eq + 1));
+            }
+        }
+        if (!options.containsKey("jar")) {
+            throw new IllegalArgumentException("Informe o jar da aplicação: --jar=target/clean-arch-api-0.0.1-SNAPSHOT.jar");
+        }
+
+        Path jar = Path.of(options.remove("jar"));
+        String jvmArgs = options.getOrDefault("jvm-args", "").trim();
+        String label = options.getOrDefault("label", jvmArgs.isEmpty() ? "jar" : jvmArgs);
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        Duration timeout = DurationStyle.detectAndParse(options.getOrDefault("timeout", "2m"));
+        Path out = Path.of(options.getOrDefault("out", "target/startup-result.json"));
+        String summary = options.get("summary");
+
+        options.keySet().removeAll(List.of("jvm-args", "label", "runs", "timeout", "out", "summary"));
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Opções desconhecidas: " + options.keySet());
+        }
+        if (runs < 1) {
+            throw new IllegalArgumentException("runs deve ser maior que zero");
+        }
+
+        StartupTime startupTime = new StartupTime(jar,
+                jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")), List.copyOf(appArgs), timeout);
+
+        long[] millis = new long[runs];
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            System.out.printf("Aquecimento (migrations): %d ms%n", startupTime.measure(postgres, "warmup"));
+            for (int i = 0; i < runs; i++) {
+                millis[i] = startupTime.measure(postgres, String.valueOf(i + 1));
+                System.out.printf("Execução %d: %d ms%n", i + 1, millis[i]);
+            }
+        }
+        Arrays.sort(millis);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.put("jar", jar.toString());
+        result.put("jvmArgs", startupTime.jvmArgs);
+        result.put("appArgs", startupTime.appArgs);
+        result.put("runs", runs);
+        result.put("minMs", millis[0]);
+        result.put("medianMs", millis[runs / 2]);
+        result.put("maxMs", millis[runs - 1]);
+
+        System.out.printf("%n%s: mínimo %d ms, mediana %d ms, máximo %d ms%n",
+                label, millis[0], millis[runs / 2], millis[runs - 1]);
+        LatencyReport.write(result, out);
+        System.out.println("Relatório: " + out.toAbsolutePath());
+        if (summary != null) {
+            Files.writeString(Path.of(summary),
+                    String.format("| %s | %d | %d | %d |%n", label, millis[0], millis[runs / 2], millis[runs - 1]),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Launches the application and waits for its first successful response.
+     * @return the milliseconds from the launch to that response
+     */
+    private long measure(EmbeddedPostgres postgres, String run) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-jar", jar.getFileName().toString(),
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--server.port=" + port,
+                "--app.tasks.outbox.sink=memory"));
+        // Os argumentos repassados vêm por último e prevalecem
+        command.addAll(appArgs);
+
+        Path log = Path.of("target", "startup-" + run + ".log").toAbsolutePath();
+        Files.createDirectories(log.getParent());
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        // No diretório do jar, como o treino do CDS, para o arquivo (-XX:SharedArchiveFile=app.jsa) ser aceito
+        Process process = new ProcessBuilder(command)
+                .directory(jar.toAbsolutePath().getParent().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("A aplicação terminou com código " + process.exitValue()
+                            + " antes de responder; veja " + log.toAbsolutePath());
+                }
+                try {
+                    if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Porta ainda fechada
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("A aplicação não respondeu em " + timeout + "; veja " + log.toAbsolutePath());
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gabriel.cleanarch.application.auth;
+
+/**
+ * Thrown when the login worker pool and its queue are full, so the request is rejected right away
+ * instead of waiting for a password hash.
+ */
+public class AuthCapacityExceededException extends RuntimeException {
+
+    public AuthCapacityExceededException() {
+        super("Muitas requisições de autenticação, tente novamente em instantes");
+    }
+}
@@ -1,24 +1,111 @@
 package com.gabriel.cleanarch.application.auth;
 
+import com.gabriel.cleanarch.domain.user.RefreshTokenRepository;
 import com.gabriel.cleanarch.domain.user.Role;
 import com.gabriel.cleanarch.domain.user.User;
 import com.gabriel.cleanarch.domain.user.UserRepository;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
 @Service
+@Observed(name = "app.service")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class AuthService {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final LoginExecutor loginExecutor;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TokenRevocationList tokenRevocationList;
+
+    @Value("${app.jwt.refresh-token-ttl:30d}")
+    private Duration refreshTokenTtl;
 
-    public String register(String email, String password) {
+    /**
+     * Registers a new user on the {@link LoginExecutor}, so password hashing never runs on request threads.
+     *
+     * @return a future completed with the user's access and refresh tokens
+     * @throws AuthCapacityExceededException if the login pool is saturated
+     */
+    public CompletableFuture<AuthTokens> register(String email, String password) {
+        return loginExecutor.submit(() -> doRegister(email, password));
+    }
+
+    /**
+     * Authenticates a user on the {@link LoginExecutor}, so password checks never run on request threads.
+     * <p>
+     * When the stored hash uses an outdated algorithm or cost, it is upgraded as part of the authentication.
+     *
+     * @return a future completed with the user's access and refresh tokens
+     * @throws AuthCapacityExceededException if the login pool is saturated
+     */
+    public CompletableFuture<AuthTokens> login(String email, String password) {
+        return loginExecutor.submit(() -> doLogin(email, password));
+    }
+
+    /**
+     * Issues a new access token and the next refresh token of the same login, using up the given refresh token.
+     * <p>
+     * This is one indexed statement on the token's hash, with no password check. A refresh token presented
+     * a second time was copied by someone else, so every token of its login is revoked.
+     *
+     * @return the new access and refresh tokens
+     * @throws InvalidRefreshTokenException if the refresh token is unknown, expired or was already used
+     */
+    public AuthTokens refresh(String refreshToken) {
+        if (refreshToken == null) {
+            throw new InvalidRefreshTokenException();
+        }
+        byte[] tokenHash = hash(refreshToken);
+        String nextToken = newRefreshToken();
+        User user = refreshTokenRepository.rotate(tokenHash, hash(nextToken), refreshTokenTtl)
+                .orElseThrow(() -> {
+                    refreshTokenRepository.deleteFamily(tokenHash);
+                    return new InvalidRefreshTokenException();
+                });
+        return new AuthTokens(jwtService.generateToken(user), nextToken, jwtService.getAccessTokenTtl().toSeconds());
+    }
+
+    /**
+     * Revokes the given access token until it expires, and every refresh token of the given refresh token's
+     * login. Either may be {@code null}; invalid tokens are ignored.
+     */
+    public void logout(String accessToken, String refreshToken) {
+        if (accessToken != null) {
+            try {
+                tokenRevocationList.revoke(jwtService.parseToken(accessToken));
+            } catch (JwtException | IllegalArgumentException e) {
+                // Token já inválido: não há o que revogar
+            }
+        }
+        if (refreshToken != null) {
+            refreshTokenRepository.deleteFamily(hash(refreshToken));
+        }
+    }
+
+    private AuthTokens doRegister(String email, String password) {
         if (userRepository.findByEmail(email).isPresent()) {
             throw new RuntimeException("Email já cadastrado");
         }
@@ -30,10 +117,11 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
-        return jwtService.generateToken(user);
+        principalCache.invalidate(email);
+        return issueTokens(user);
     }
 
-    public String login(String email, String password) {
+    private AuthTokens doLogin(String email, String password) {
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
         );
@@ -41,6 +129,30 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
 
-        return jwtService.generateToken(user);
+        return issueTokens(user);
+    }
+
+    /**
+     * Issues the tokens of a new login, whose refresh token starts a new family.
+     */
+    private AuthTokens issueTokens(User user) {
+        String refreshToken = newRefreshToken();
+        refreshTokenRepository.save(hash(refreshToken), UUID.randomUUID(), user.getId(), refreshTokenTtl);
+        return new AuthTokens(jwtService.generateToken(user), refreshToken, jwtService.getAccessTokenTtl().toSeconds());
+    }
+
+    private static String newRefreshToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // 256 bits aleatórios: um SHA-256 basta, sem o custo de um hash de senha
+    private static byte[] hash(String refreshToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
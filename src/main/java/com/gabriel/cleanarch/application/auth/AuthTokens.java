@@ -0,0 +1,11 @@
+package com.gabriel.cleanarch.application.auth;
+
+/**
+ * Tokens issued on registration, login and refresh.
+ *
+ * @param accessToken the JWT that authenticates requests
+ * @param refreshToken the opaque token that renews the access token, valid for a single use
+ * @param expiresIn the seconds until the access token expires
+ */
+public record AuthTokens(String accessToken, String refreshToken, long expiresIn) {
+}
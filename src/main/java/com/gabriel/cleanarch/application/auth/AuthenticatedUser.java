@@ -0,0 +1,24 @@
+package com.gabriel.cleanarch.application.auth;
+
+import com.gabriel.cleanarch.domain.user.Role;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of an authenticated request, built from the verified JWT claims or from the database.
+ * <p>
+ * It is an {@link AuthenticatedPrincipal} rather than a {@link java.security.Principal}: WebFlux resolves
+ * {@code Principal} arguments itself, ahead of {@code @AuthenticationPrincipal}, and would inject the
+ * whole {@code Authentication} instead of this record.
+ *
+ * @param id the user's ID
+ * @param email the user's email, also used as the principal name
+ * @param role the user's role
+ */
+public record AuthenticatedUser(Long id, String email, Role role) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
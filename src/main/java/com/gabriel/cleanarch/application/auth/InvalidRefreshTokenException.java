@@ -0,0 +1,11 @@
+package com.gabriel.cleanarch.application.auth;
+
+/**
+ * Thrown when a refresh token is unknown, expired, revoked or was already used.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+
+    public InvalidRefreshTokenException() {
+        super("Refresh token inválido ou expirado");
+    }
+}
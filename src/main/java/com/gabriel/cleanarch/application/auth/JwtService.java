@@ -1,14 +1,24 @@
 package com.gabriel.cleanarch.application.auth;
 
+import com.gabriel.cleanarch.domain.user.Role;
 import com.gabriel.cleanarch.domain.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
@@ -16,40 +26,126 @@ public class JwtService {
     // Em prod, joga em variável de ambiente
     private static final String SECRET_KEY = "MINHA_SUPER_CHAVE_SECRETA_DE_32_CHARS_NO_MINIMO_123";
 
-    private final long jwtExpirationMs = 1000 * 60 * 60; // 1 hora
+    public static final String ROLE_CLAIM = "role";
+    public static final String USER_ID_CLAIM = "uid";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private final Duration accessTokenTtl;
+    private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, Claims> verifiedTokens;
+    private final Timer parseTimer;
+
+    /**
+     * Builds the signing key and the JWT parser once, and creates the cache of verified tokens.
+     * <p>
+     * Access tokens are short-lived: clients renew them with a refresh token (see {@link AuthService#refresh})
+     * instead of logging in again.
+     * <p>
+     * Each cached entry expires at the token's {@code exp} claim or after {@code maxTtl},
+     * whichever comes first, so a cached token never outlives its own expiration.
+     * Cache hits and misses are exported as {@code cache.gets{cache=jwt.tokens}}, and the time spent
+     * verifying tokens that were not cached as {@code auth.jwt.parse}.
+     *
+     * @param accessTokenTtl how long an access token is valid
+     * @param cacheMaxSize the maximum number of verified tokens kept in memory
+     * @param cacheMaxTtl the maximum time a verified token stays in the cache
+     * @param meterRegistry the registry the metrics are exported to
+     */
+    public JwtService(
+            @Value("${app.jwt.access-token-ttl:15m}") Duration accessTokenTtl,
+            @Value("${app.jwt.cache.max-size:10000}") long cacheMaxSize,
+            @Value("${app.jwt.cache.max-ttl:5m}") Duration cacheMaxTtl,
+            MeterRegistry meterRegistry
+    ) {
+        this.accessTokenTtl = accessTokenTtl;
+        this.signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenExpiry(cacheMaxTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.tokens");
+        this.parseTimer = Timer.builder("auth.jwt.parse")
+                .description("Time to verify the signature and expiration of a token not yet cached")
+                .register(meterRegistry);
     }
 
     /**
      * Generates a JWT token based on the given user.
      *
-     * The token will contain the user's email as the subject and the user's role as a claim.
+     * The token will contain the user's email as the subject, the user's role and ID as claims and a random
+     * {@code jti}, by which it can be revoked (see {@link TokenRevocationList}).
      * The token will be signed with the application's secret key using the HS256 algorithm.
-     * The token will expire after 1 hour.
+     * The token will expire after {@code app.jwt.access-token-ttl}.
      *
      * @param user the user to generate the token for
      * @return the generated JWT token
      */
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole().name());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(USER_ID_CLAIM, user.getId());
 
         Date now = new Date();
-        Date expiry = new Date(now.getTime() + jwtExpirationMs);
+        Date expiry = new Date(now.getTime() + accessTokenTtl.toMillis());
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getEmail())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    /**
+     * Verifies the signature and expiration of the given token and returns its claims.
+     * <p>
+     * A token is parsed and verified only once; later calls with the same token are served
+     * from the cache until the token expires.
+     *
+     * @param token the JWT token
+     * @return the verified claims of the token
+     * @throws JwtException if the token is malformed, has an invalid signature or is expired
+     */
+    public Claims parseToken(String token) {
+        Claims cached = verifiedTokens.getIfPresent(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = parseTimer.record(() -> extractAllClaims(token));
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        return claims;
+    }
+
+    /**
+     * Builds the principal of a request directly from verified claims, without touching the database.
+     *
+     * @param claims the verified claims of a token
+     * @return the principal, or {@code null} if the token does not carry the user ID and role claims
+     */
+    public AuthenticatedUser extractPrincipal(Claims claims) {
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject(), Role.valueOf(role));
+    }
+
     public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+        return parseToken(token).getSubject();
     }
 
     public boolean isTokenValid(String token, String userEmail) {
@@ -58,7 +154,7 @@ public class JwtService {
     }
 
     private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+        return parseToken(token).getExpiration().before(new Date());
     }
 
 
@@ -69,10 +165,36 @@ public class JwtService {
      * @return the claims extracted from the token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
+
+    /**
+     * Expires each cached token at its {@code exp} claim, capped by the configured maximum TTL.
+     */
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        private final long maxTtlNanos;
+
+        private TokenExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long untilExpiration = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return Math.max(0, Math.min(maxTtlNanos, Duration.ofMillis(untilExpiration).toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -0,0 +1,65 @@
+package com.gabriel.cleanarch.application.auth;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded worker pool for the CPU-heavy part of login and registration (password hashing).
+ * <p>
+ * A login storm can use at most {@code threads} cores; up to {@code queueCapacity} requests wait,
+ * and any request beyond that fails fast with {@link AuthCapacityExceededException}, leaving the
+ * request threads free for the rest of the API.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LoginExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public LoginExecutor(
+            @Value("${app.security.login-pool.threads:0}") int threads,
+            @Value("${app.security.login-pool.queue-capacity:100}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Runs the task on the login pool.
+     *
+     * @param task the work to run
+     * @return a future completed with the task's result
+     * @throws AuthCapacityExceededException if the pool and its queue are full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            throw new AuthCapacityExceededException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gabriel.cleanarch.application.auth;
+
+import com.gabriel.cleanarch.domain.user.User;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> principals;
+
+    public PrincipalCache(
+            UserRepository userRepository,
+            @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${app.security.principal-cache.ttl:1m}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+    }
+
+    /**
+     * Returns the principal of the user with the given email.
+     * <p>
+     * The user is loaded from the database only on a cache miss; the result is kept until the
+     * configured TTL expires or {@link #invalidate(String)} is called for the same email.
+     * The query runs outside the cache's locks, so it never pins a virtual thread. It may be served by a
+     * read replica; users the replica does not know yet, e.g. just registered, are looked up on the primary.
+     *
+     * @param email the user's email
+     * @return the principal of the user
+     * @throws UsernameNotFoundException if no user with the given email exists
+     */
+    public AuthenticatedUser load(String email) {
+        AuthenticatedUser cached = principals.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        AuthenticatedUser user = fetch(email);
+        principals.put(email, user);
+        return user;
+    }
+
+    /**
+     * Removes the cached principal of the given user. Must be called whenever the user changes.
+     *
+     * @param email the user's email
+     */
+    public void invalidate(String email) {
+        principals.invalidate(email);
+    }
+
+    private AuthenticatedUser fetch(String email) {
+        User user = userRepository.findReadOnlyByEmail(email)
+                .or(() -> userRepository.findByEmail(email))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
@@ -0,0 +1,173 @@
+package com.gabriel.cleanarch.application.auth;
+
+import com.gabriel.cleanarch.domain.user.RefreshTokenRepository;
+import com.gabriel.cleanarch.domain.user.RevokedTokenRepository;
+import com.gabriel.cleanarch.domain.user.RevokedTokenRepository.RevokedToken;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory denylist of access tokens revoked before their expiration, checked on every authenticated request
+ * without any database query.
+ * <p>
+ * Revoked token IDs ({@code jti}) are kept in a map until the token expires, fronted by a {@link BloomFilter}:
+ * for almost every token, which was never revoked, the filter answers alone. Revocations are stored in
+ * {@code revoked_tokens} and every node polls the recent ones, so a token revoked on any node is rejected by
+ * all of them within {@code app.jwt.revocation.poll-interval}. Expired revocations, and expired refresh
+ * tokens, are pruned every {@code app.jwt.revocation.prune-interval}.
+ */
+@Slf4j
+@Service
+public class TokenRevocationList implements SmartLifecycle {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration pollInterval;
+    private final Duration pollOverlap;
+    private final Duration pruneInterval;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile Instant polledUntil = Instant.EPOCH;
+    private volatile ScheduledExecutorService scheduler;
+
+    public TokenRevocationList(
+            RevokedTokenRepository revokedTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${app.jwt.revocation.poll-interval:2s}") Duration pollInterval,
+            @Value("${app.jwt.revocation.poll-overlap:1m}") Duration pollOverlap,
+            @Value("${app.jwt.revocation.prune-interval:10m}") Duration pruneInterval,
+            @Value("${app.jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+            @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            MeterRegistry meterRegistry
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.pollInterval = pollInterval;
+        this.pollOverlap = pollOverlap;
+        this.pruneInterval = pruneInterval;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+
+        Gauge.builder("auth.jwt.revoked", revoked, Map::size)
+                .description("Revoked access tokens not yet expired, kept in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the revocations of tokens not yet expired before the server accepts requests, then keeps polling.
+     */
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocations");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poll();
+        scheduler.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::prune, pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdown();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Starts before the web server, so no request is authenticated before the revocations are loaded.
+     */
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048;
+    }
+
+    /**
+     * Returns whether the token with the given verified claims was revoked. Tokens without a {@code jti}
+     * claim, issued before revocation existed, cannot be revoked.
+     *
+     * @param claims the verified claims of a token
+     * @return {@code true} if the token must be rejected
+     */
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        return jti != null && filter.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes the token with the given verified claims until it expires: on this node right away, and on the
+     * others at their next poll.
+     *
+     * @param claims the verified claims of a token
+     */
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            return;
+        }
+        Instant expiresAt = claims.getExpiration().toInstant();
+        revokedTokenRepository.save(UUID.fromString(jti), expiresAt);
+        add(jti, expiresAt.toEpochMilli());
+    }
+
+    // Sincronizado com a reconstrução do filtro, para nenhuma revogação ficar de fora do filtro novo
+    private synchronized void add(String jti, long expiresAtMillis) {
+        // O mapa antes do filtro: quem vê o bit no filtro também encontra o jti no mapa
+        revoked.put(jti, expiresAtMillis);
+        filter.put(jti);
+    }
+
+    private void poll() {
+        Instant startedAt = Instant.now();
+        try {
+            // A janela se sobrepõe à anterior, cobrindo transações lentas e diferença de relógio com o banco
+            for (RevokedToken token : revokedTokenRepository.findRevokedAfter(polledUntil.minus(pollOverlap))) {
+                add(token.jti().toString(), token.expiresAt().toEpochMilli());
+            }
+            polledUntil = startedAt;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao buscar tokens revogados: {}", e.getMessage());
+        }
+    }
+
+    private void prune() {
+        try {
+            long now = System.currentTimeMillis();
+            synchronized (this) {
+                if (revoked.values().removeIf(expiresAt -> expiresAt <= now)) {
+                    BloomFilter rebuilt = new BloomFilter(
+                            Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+                    revoked.keySet().forEach(rebuilt::put);
+                    filter = rebuilt;
+                }
+            }
+            revokedTokenRepository.deleteExpired();
+            refreshTokenRepository.deleteExpired();
+        } catch (RuntimeException e) {
+            log.warn("Falha ao remover tokens expirados: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.gabriel.cleanarch.application.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task change recorded in the outbox in the same transaction as the change itself.
+ * <p>
+ * Delivery is at least once: consumers should ignore events whose {@code id} they have already seen.
+ * Events of the same user are delivered in {@code id} order.
+ *
+ * @param id the outbox ID, increasing in commit order for each user
+ * @param userId the ID of the task's owner
+ * @param taskId the ID of the changed task, or {@code null} for {@code IMPORTED}
+ * @param type {@code CREATED}, {@code UPDATED} or {@code DELETED}, or {@code IMPORTED} for the tasks a bulk
+ *             import gave the user, which get no event of their own
+ * @param payload the task's row as JSON, after the change (before it, for deletions); for {@code IMPORTED},
+ *                {@code {"tasks": <number of imported tasks>}}
+ * @param createdAt when the change was made
+ */
+public record OutboxEvent(
+        long id,
+        Long userId,
+        Long taskId,
+        String type,
+        String payload,
+        LocalDateTime createdAt
+) {
+}
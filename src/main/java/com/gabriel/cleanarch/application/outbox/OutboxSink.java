@@ -0,0 +1,28 @@
+package com.gabriel.cleanarch.application.outbox;
+
+/**
+ * Destination of the events relayed from the outbox. One implementation is active,
+ * selected with {@code app.tasks.outbox.sink}.
+ * <p>
+ * Calls are never concurrent. For each batch, {@link #publish} is called once per event and
+ * {@link #flush()} once at the end; the events are removed from the outbox only after the flush.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes one event. If it fails, later events of the same user are held back and retried with it.
+     *
+     * @param event the event to publish
+     * @throws Exception if the event could not be published
+     */
+    void publish(OutboxEvent event) throws Exception;
+
+    /**
+     * Makes the events published since the last flush durable.
+     * If it fails, every event of the batch is left in the outbox and retried with backoff.
+     *
+     * @throws Exception if the events could not be made durable
+     */
+    default void flush() throws Exception {
+    }
+}
@@ -0,0 +1,12 @@
+package com.gabriel.cleanarch.application.task;
+
+/**
+ * Thrown when an imported task file is malformed or holds a task the database rejects, such as one whose owner
+ * does not exist. No task of the file is imported.
+ */
+public class InvalidTaskFileException extends RuntimeException {
+
+    public InvalidTaskFileException(String message, Throwable cause) {
+        super("Arquivo de tasks inválido: " + message, cause);
+    }
+}
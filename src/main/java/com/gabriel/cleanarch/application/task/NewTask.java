@@ -0,0 +1,7 @@
+package com.gabriel.cleanarch.application.task;
+
+/**
+ * Title and description of a task to be created.
+ */
+public record NewTask(String title, String description) {
+}
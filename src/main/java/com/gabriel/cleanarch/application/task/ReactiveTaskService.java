@@ -0,0 +1,112 @@
+package com.gabriel.cleanarch.application.task;
+
+import com.gabriel.cleanarch.domain.task.ReactiveTaskRepository;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import com.gabriel.cleanarch.domain.user.ReactiveUserRepository;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking counterpart of {@link TaskService}, used when the application runs on WebFlux.
+ * <p>
+ * Every operation is a single statement through R2DBC, so no request thread waits on the database.
+ * Task list versions are bumped by the same database triggers, so ETags issued by either
+ * deployment stay valid on the other.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveUserRepository userRepository;
+
+    /**
+     * Returns one page of the user's tasks that match the filter, using keyset pagination
+     * on {@code (createdAt, id)}.
+     *
+     * @see TaskService#findPageByUser(Long, TaskListVersion, TaskFilter, TaskCursor, int)
+     */
+    public Mono<TaskPage> findPageByUser(Long userId, TaskFilter filter, TaskCursor cursor, int limit) {
+        Flux<TaskView> tasks = cursor == null
+                ? taskRepository.findPage(userId, filter, null, null, limit + 1)
+                : taskRepository.findPage(userId, filter, cursor.createdAt(), cursor.id(), limit + 1);
+        return tasks.collectList().map(list -> TaskPage.of(list, limit));
+    }
+
+    /**
+     * Returns a task of the given user, or an empty {@link Mono} if it does not exist or belongs to another user.
+     */
+    public Mono<TaskView> findByUser(Long userId, Long id) {
+        return taskRepository.findByIdAndOwnerId(id, userId);
+    }
+
+    /**
+     * Returns the current version of the user's task list, with a single primary key lookup.
+     */
+    public Mono<TaskListVersion> findListVersion(Long userId) {
+        return userRepository.findTaskListVersion(userId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Usuário não encontrado")));
+    }
+
+    /**
+     * Streams all of the user's tasks in {@code (createdAt, id)} order.
+     * <p>
+     * Rows are emitted as the driver decodes them, with backpressure from the subscriber.
+     */
+    public Flux<TaskView> streamAllByUser(Long userId) {
+        return taskRepository.findPage(userId, TaskFilter.NONE, null, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a task owned by the given user with a single INSERT.
+     */
+    public Mono<TaskView> createTask(Long userId, String title, String description) {
+        return taskRepository.insert(userId, title, description, LocalDateTime.now());
+    }
+
+    /**
+     * Updates a task of the given user with a single conditional UPDATE, which also increments its version.
+     *
+     * @return {@code true} if the task was updated, {@code false} if it does not exist or belongs to another user;
+     * fails with {@link TaskVersionConflictException} if the task is no longer at {@code expectedVersion}
+     * @see TaskService#updateTask(Long, Long, Long, String, String, boolean)
+     */
+    public Mono<Boolean> updateTask(
+            Long userId,
+            Long id,
+            Long expectedVersion,
+            String title,
+            String description,
+            boolean done
+    ) {
+        return taskRepository.updateOwned(id, userId, expectedVersion, title, description, done)
+                .flatMap(count -> {
+                    if (count > 0) {
+                        return Mono.just(true);
+                    }
+                    if (expectedVersion == null) {
+                        return Mono.just(false);
+                    }
+                    return taskRepository.findByIdAndOwnerId(id, userId)
+                            .flatMap(task -> Mono.<Boolean>error(new TaskVersionConflictException(id)))
+                            .defaultIfEmpty(false);
+                });
+    }
+
+    /**
+     * Deletes a task of the given user with a single conditional DELETE.
+     *
+     * @return {@code true} if the task was deleted, {@code false} if it does not exist or belongs to another user
+     */
+    public Mono<Boolean> deleteTask(Long userId, Long id) {
+        return taskRepository.deleteOwned(id, userId).map(count -> count > 0);
+    }
+}
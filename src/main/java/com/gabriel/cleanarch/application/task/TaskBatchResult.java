@@ -0,0 +1,17 @@
+package com.gabriel.cleanarch.application.task;
+
+/**
+ * Outcome of one operation of a batch request.
+ *
+ * @param id the ID of the task the operation applied to
+ * @param status what happened to the task
+ */
+public record TaskBatchResult(Long id, Status status) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,25 @@
+package com.gabriel.cleanarch.application.task;
+
+import java.util.List;
+
+/**
+ * A change to a user's tasks, published by the database for every write statement.
+ *
+ * @param userId the ID of the owner of the changed tasks
+ * @param version the version of the owner's task list after the change, which also identifies the event
+ * @param type the kind of change
+ * @param ids the IDs of the changed tasks, or {@code null} if the statement changed too many tasks to list
+ */
+public record TaskEvent(Long userId, long version, Type type, List<Long> ids) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        /**
+         * Completed tasks moved to the archive: they are no longer in the default listing, but still exist
+         * and are listed with {@code includeArchived=true}.
+         */
+        ARCHIVED
+    }
+}
@@ -0,0 +1,208 @@
+package com.gabriel.cleanarch.application.task;
+
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans out {@link TaskEvent}s to the open change feed connections of their owners.
+ * <p>
+ * Each node receives every event (see {@code PgTaskEventListener}) and keeps the last events of each user
+ * in a bounded replay buffer, so a client that reconnects to any node with the ID of the last event it saw
+ * receives the events it missed. When they are no longer buffered, the client is told to reload its list.
+ * <p>
+ * Publishing never blocks on a connection: events are queued per subscription and written by a small
+ * delivery pool, and every open connection receives a heartbeat at a fixed interval.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class TaskEventBroker {
+
+    private final UserRepository userRepository;
+    private final int replaySize;
+    private final int subscriptionCapacity;
+    private final Cache<Long, ReplayBuffer> replayBuffers;
+    private final Map<Long, Set<TaskEventSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService deliveryExecutor;
+    private final ScheduledExecutorService heartbeatScheduler;
+
+    public TaskEventBroker(
+            UserRepository userRepository,
+            @Value("${app.tasks.events.replay-size:100}") int replaySize,
+            @Value("${app.tasks.events.replay-users:10000}") long replayUsers,
+            @Value("${app.tasks.events.subscription-capacity:256}") int subscriptionCapacity,
+            @Value("${app.tasks.events.delivery-threads:4}") int deliveryThreads,
+            @Value("${app.tasks.events.heartbeat:15s}") Duration heartbeat
+    ) {
+        this.userRepository = userRepository;
+        this.replaySize = replaySize;
+        this.subscriptionCapacity = subscriptionCapacity;
+        this.replayBuffers = Caffeine.newBuilder()
+                .maximumSize(replayUsers)
+                .build();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.deliveryExecutor = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-events-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-events-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeatScheduler.scheduleAtFixedRate(
+                this::heartbeat,
+                heartbeat.toMillis(),
+                heartbeat.toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Opens a change feed for the user.
+     * <p>
+     * When {@code lastEventId} is buffered, the events after it are replayed first. Otherwise the sink
+     * receives a reset with the current version of the task list, unless the client is already at it.
+     *
+     * @param userId the ID of the authenticated user
+     * @param lastEventId the ID of the last event the client received, or {@code null} on a first connection
+     * @param sink the connection to deliver the events to
+     * @return the subscription, to be cancelled when the connection closes
+     */
+    public TaskEventSubscription subscribe(Long userId, Long lastEventId, TaskEventSink sink) {
+        TaskEventSubscription subscription =
+                new TaskEventSubscription(userId, sink, deliveryExecutor, subscriptionCapacity, this::remove);
+
+        // Registro e snapshot do buffer são atômicos em relação ao publish do mesmo usuário
+        List<List<TaskEvent>> replay = new ArrayList<>(1);
+        replayBuffers.asMap().compute(userId, (id, buffer) -> {
+            ReplayBuffer current = buffer != null ? buffer : new ReplayBuffer(replaySize);
+            subscriptions.compute(id, (key, set) -> {
+                Set<TaskEventSubscription> subscribers = set != null ? set : ConcurrentHashMap.newKeySet();
+                subscribers.add(subscription);
+                return subscribers;
+            });
+            replay.add(lastEventId == null ? null : current.after(lastEventId));
+            return current;
+        });
+
+        List<TaskEvent> missed = replay.get(0);
+        if (missed != null) {
+            subscription.start(missed);
+            return subscription;
+        }
+
+        long version = userRepository.findTaskListVersion(userId)
+                .map(TaskListVersion::version)
+                .orElse(0L);
+        subscription.start(List.of(lastEventId != null && lastEventId == version
+                ? new TaskEventSubscription.Resume(version)
+                : new TaskEventSubscription.Reset(version)));
+        return subscription;
+    }
+
+    /**
+     * Buffers the event and queues it on every open feed of its owner.
+     * Events of a user must be published in version order.
+     *
+     * @param event the event to publish
+     */
+    public void publish(TaskEvent event) {
+        List<TaskEventSubscription> receivers = new ArrayList<>();
+        replayBuffers.asMap().compute(event.userId(), (id, buffer) -> {
+            ReplayBuffer current = buffer != null ? buffer : new ReplayBuffer(replaySize);
+            current.add(event);
+            Set<TaskEventSubscription> subscribers = subscriptions.get(id);
+            if (subscribers != null) {
+                receivers.addAll(subscribers);
+            }
+            return current;
+        });
+        for (TaskEventSubscription subscription : receivers) {
+            subscription.publish(event);
+        }
+    }
+
+    /**
+     * Drops every replay buffer and closes every open feed. Used when events may have been lost,
+     * so that reconnecting clients are told to reload their lists instead of trusting a replay with gaps.
+     */
+    public void disconnectAll() {
+        replayBuffers.invalidateAll();
+        subscriptions.values().forEach(set -> set.forEach(TaskEventSubscription::cancel));
+    }
+
+    private void heartbeat() {
+        subscriptions.values().forEach(set -> set.forEach(TaskEventSubscription::heartbeat));
+    }
+
+    private void remove(TaskEventSubscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId(), (id, set) -> {
+            set.remove(subscription);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        subscriptions.values().forEach(set -> set.forEach(TaskEventSubscription::cancel));
+        deliveryExecutor.shutdown();
+    }
+
+    /**
+     * The last events of a user, in version order. Only accessed inside the buffer map's {@code compute}.
+     */
+    private static final class ReplayBuffer {
+
+        private final int capacity;
+        private final ArrayDeque<TaskEvent> events = new ArrayDeque<>();
+
+        private ReplayBuffer(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void add(TaskEvent event) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+
+        /**
+         * @return the events after {@code version}, or {@code null} if some of them are no longer buffered
+         */
+        List<TaskEvent> after(long version) {
+            if (events.isEmpty() || events.getFirst().version() > version + 1) {
+                return null;
+            }
+            List<TaskEvent> missed = new ArrayList<>();
+            for (TaskEvent event : events) {
+                if (event.version() > version) {
+                    missed.add(event);
+                }
+            }
+            return missed;
+        }
+    }
+}
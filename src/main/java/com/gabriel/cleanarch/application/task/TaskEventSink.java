@@ -0,0 +1,33 @@
+package com.gabriel.cleanarch.application.task;
+
+import java.io.IOException;
+
+/**
+ * The connection a {@link TaskEventBroker} subscriber receives its events on, implemented by the web layer.
+ * <p>
+ * Calls on a sink are never concurrent; they are made from the broker's delivery threads, so a slow
+ * connection never holds up the publisher.
+ */
+public interface TaskEventSink {
+
+    /**
+     * Sends a change to the user's tasks.
+     */
+    void event(TaskEvent event) throws IOException;
+
+    /**
+     * Tells the client its view of the task list can no longer be brought up to date with events,
+     * and that it must reload the list. Events after {@code version} follow.
+     */
+    void reset(long version) throws IOException;
+
+    /**
+     * Sends a keep-alive message that carries no event.
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Closes the connection. The client is expected to reconnect with the ID of the last event it received.
+     */
+    void complete();
+}
@@ -0,0 +1,165 @@
+package com.gabriel.cleanarch.application.task;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One open connection of a user's change feed, created by {@link TaskEventBroker#subscribe}.
+ * <p>
+ * Messages wait in a bounded queue and are written to the {@link TaskEventSink} by at most one delivery
+ * thread at a time. A consumer that falls so far behind that its queue fills up is disconnected; it resumes
+ * from its last event ID when it reconnects.
+ */
+public final class TaskEventSubscription implements Runnable {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private final Long userId;
+    private final TaskEventSink sink;
+    private final Executor executor;
+    private final Consumer<TaskEventSubscription> onClose;
+    private final BlockingQueue<Object> pending;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private volatile boolean started;
+    private volatile boolean closed;
+    private volatile List<?> initial;
+
+    // Só acessado pela thread de entrega da vez
+    private long lastVersion = -1;
+
+    TaskEventSubscription(
+            Long userId,
+            TaskEventSink sink,
+            Executor executor,
+            int capacity,
+            Consumer<TaskEventSubscription> onClose
+    ) {
+        this.userId = userId;
+        this.sink = sink;
+        this.executor = executor;
+        this.onClose = onClose;
+        this.pending = new ArrayBlockingQueue<>(capacity);
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    /**
+     * Starts delivery, beginning with the replayed events or the reset computed on subscription.
+     * Events published in the meantime are queued and delivered afterwards, skipping duplicates.
+     */
+    void start(List<?> initialMessages) {
+        this.initial = initialMessages;
+        this.started = true;
+        schedule();
+    }
+
+    void publish(TaskEvent event) {
+        offer(event);
+    }
+
+    void heartbeat() {
+        offer(HEARTBEAT);
+    }
+
+    /**
+     * Closes the subscription and completes its sink. Safe to call more than once, from any thread.
+     */
+    public void cancel() {
+        closed = true;
+        schedule();
+    }
+
+    private void offer(Object message) {
+        if (closed) {
+            return;
+        }
+        if (!pending.offer(message)) {
+            closed = true;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (!started || !scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            closed = true;
+            finish();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            List<?> replay = initial;
+            if (replay != null) {
+                initial = null;
+                for (Object message : replay) {
+                    deliver(message);
+                }
+            }
+            Object message;
+            while (!closed && (message = pending.poll()) != null) {
+                deliver(message);
+            }
+        } catch (IOException | RuntimeException e) {
+            closed = true;
+        }
+
+        if (closed) {
+            pending.clear();
+            finish();
+            return;
+        }
+        scheduled.set(false);
+        if (closed || !pending.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void deliver(Object message) throws IOException {
+        if (message == HEARTBEAT) {
+            sink.heartbeat();
+        } else if (message instanceof Reset reset) {
+            sink.reset(reset.version());
+            lastVersion = reset.version();
+        } else if (message instanceof Resume resume) {
+            lastVersion = resume.version();
+        } else if (message instanceof TaskEvent event && event.version() > lastVersion) {
+            sink.event(event);
+            lastVersion = event.version();
+        }
+    }
+
+    private void finish() {
+        if (finished.compareAndSet(false, true)) {
+            onClose.accept(this);
+            sink.complete();
+        }
+    }
+
+    /**
+     * The client must reload its task list; events after {@code version} follow.
+     */
+    record Reset(long version) {
+    }
+
+    /**
+     * The client is up to date at {@code version}; nothing is sent.
+     */
+    record Resume(long version) {
+    }
+}
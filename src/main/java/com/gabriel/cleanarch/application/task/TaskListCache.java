@@ -0,0 +1,83 @@
+package com.gabriel.cleanarch.application.task;
+
+import com.gabriel.cleanarch.domain.task.TaskView;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the head of each user's unfiltered task list, keyed by user ID.
+ * <p>
+ * Backed by the {@link CacheManager}, so the store is chosen by {@code spring.cache.type}:
+ * Caffeine in memory by default, or a shared cache such as Redis when several nodes run.
+ * Hit, miss and eviction counts are published as {@code cache.*} metrics.
+ * <p>
+ * Each entry is tagged with the version of the user's task list it was read at, and only served
+ * for that version. Loads run outside any cache lock, so a request never blocks (or pins a virtual
+ * thread) on another request's query, and a load racing with a write can never be served as current.
+ */
+@Component
+public class TaskListCache {
+
+    public static final String CACHE_NAME = "taskLists";
+
+    /**
+     * Number of tasks kept per user; pages up to this size are served from the cache.
+     */
+    public static final int CACHED_TASKS = 100;
+
+    private final Cache cache;
+
+    public TaskListCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    /**
+     * Returns the head of the user's task list, loading it on a miss or when the cached entry
+     * belongs to another version of the list.
+     *
+     * @param userId the user's ID
+     * @param listVersion the current version of the user's task list, read before calling this method
+     * @param loader loads up to {@code CACHED_TASKS + 1} tasks in {@code (createdAt, id)} order
+     * @return the tasks
+     */
+    public List<TaskView> get(Long userId, long listVersion, Supplier<List<TaskView>> loader) {
+        CachedTasks cached = cache.get(userId, CachedTasks.class);
+        if (cached != null && cached.version() == listVersion) {
+            return cached.tasks();
+        }
+
+        ArrayList<TaskView> tasks = new ArrayList<>(loader.get());
+        cache.put(userId, new CachedTasks(listVersion, tasks));
+        return tasks;
+    }
+
+    /**
+     * Evicts the user's cached tasks. Inside a transaction, the eviction happens after commit,
+     * so a concurrent read cannot cache the state from before the write.
+     *
+     * @param userId the user's ID
+     */
+    public void evict(Long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(userId);
+                }
+            });
+        } else {
+            cache.evict(userId);
+        }
+    }
+
+    private record CachedTasks(long version, ArrayList<TaskView> tasks) implements Serializable {
+    }
+}
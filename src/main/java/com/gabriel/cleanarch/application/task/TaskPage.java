@@ -0,0 +1,32 @@
+package com.gabriel.cleanarch.application.task;
+
+import com.gabriel.cleanarch.domain.task.TaskView;
+
+import java.util.List;
+
+/**
+ * A page of tasks in {@code (createdAt, id)} order.
+ *
+ * @param items the tasks of the page
+ * @param nextCursor the cursor of the next page, or {@code null} if this is the last page
+ */
+public record TaskPage(List<TaskView> items, String nextCursor) {
+
+    /**
+     * Builds a page from tasks read with a limit of one more than the page size.
+     * The extra task, if present, is dropped and only signals that there is a next page.
+     *
+     * @param tasks the tasks read, at most {@code limit + 1}
+     * @param limit the page size
+     * @return the page
+     */
+    static TaskPage of(List<TaskView> tasks, int limit) {
+        if (tasks.size() <= limit) {
+            return new TaskPage(tasks, null);
+        }
+
+        List<TaskView> items = tasks.subList(0, limit);
+        TaskView last = items.get(limit - 1);
+        return new TaskPage(items, new TaskCursor(last.createdAt(), last.id()).encode());
+    }
+}
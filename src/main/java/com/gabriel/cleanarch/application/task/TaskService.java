@@ -1,65 +1,254 @@
 package com.gabriel.cleanarch.application.task;
 
 import com.gabriel.cleanarch.domain.task.Task;
+import com.gabriel.cleanarch.domain.task.TaskBatchRepository;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
 import com.gabriel.cleanarch.domain.task.TaskRepository;
+import com.gabriel.cleanarch.domain.task.TaskSearchRepository;
+import com.gabriel.cleanarch.domain.task.TaskUpdate;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
 import com.gabriel.cleanarch.domain.user.User;
 import com.gabriel.cleanarch.domain.user.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
+@Observed(name = "app.service")
 @RequiredArgsConstructor
 public class TaskService {
 
     private final TaskRepository taskRepository;
+    private final TaskSearchRepository taskSearchRepository;
+    private final TaskBatchRepository taskBatchRepository;
     private final UserRepository userRepository;
+    private final TaskListCache taskListCache;
 
-    public List<Task> findAllByUser(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
-        return taskRepository.findByOwner(user);
+    /**
+     * Returns one page of the user's tasks that match the filter, using keyset pagination
+     * on {@code (createdAt, id)}.
+     * <p>
+     * Filtering, text search and ordering are done by the database, in a single projection query
+     * that never touches the owner. The unfiltered first page, which polling clients request the most,
+     * is served from the {@link TaskListCache} when it fits in the cached tasks.
+     *
+     * @param userId the ID of the authenticated user
+     * @param listVersion the current version of the user's task list, see {@link #findListVersion(Long)}
+     * @param filter the criteria the tasks must match
+     * @param cursor the position after which the page starts, or {@code null} for the first page
+     * @param limit the maximum number of tasks in the page
+     * @return the page, with the cursor of the next page when there are more tasks
+     */
+    @Transactional(readOnly = true)
+    public TaskPage findPageByUser(
+            Long userId,
+            TaskListVersion listVersion,
+            TaskFilter filter,
+            TaskCursor cursor,
+            int limit
+    ) {
+        if (cursor == null && TaskFilter.NONE.equals(filter) && limit <= TaskListCache.CACHED_TASKS) {
+            List<TaskView> head = taskListCache.get(userId, listVersion.version(), () ->
+                    taskSearchRepository.findPage(userId, TaskFilter.NONE, null, null, TaskListCache.CACHED_TASKS + 1));
+            return TaskPage.of(head, limit);
+        }
+
+        List<TaskView> tasks = cursor == null
+                ? taskSearchRepository.findPage(userId, filter, null, null, limit + 1)
+                : taskSearchRepository.findPage(userId, filter, cursor.createdAt(), cursor.id(), limit + 1);
+        return TaskPage.of(tasks, limit);
+    }
+
+    /**
+     * Returns a task of the given user.
+     *
+     * @param userId the ID of the authenticated user
+     * @param id the task's ID
+     * @return the task, or empty if it does not exist or belongs to another user
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaskView> findByUser(Long userId, Long id) {
+        return taskRepository.findViewByIdAndOwnerId(id, userId);
     }
 
-    public Task createTask(String userEmail, String title, String description) {
-        User user = userRepository.findByEmail(userEmail)
+    /**
+     * Returns the current version of the user's task list, with a single primary key lookup.
+     * <p>
+     * The version changes on every write to the user's tasks, so it can validate a cached list
+     * without reading the list again.
+     *
+     * @param userId the ID of the authenticated user
+     * @return the version of the user's task list
+     */
+    @Transactional(readOnly = true)
+    public TaskListVersion findListVersion(Long userId) {
+        return userRepository.findTaskListVersion(userId)
                 .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
+    }
 
+    /**
+     * Streams all of the user's tasks from a database cursor to the given consumer.
+     * <p>
+     * Tasks are read as {@link TaskView} projections, which are never attached to the persistence
+     * context, so memory use does not grow with the number of tasks.
+     *
+     * @param userId the ID of the authenticated user
+     * @param consumer receives each task, in {@code (createdAt, id)} order
+     */
+    @Transactional(readOnly = true)
+    public void streamAllByUser(Long userId, Consumer<TaskView> consumer) {
+        try (Stream<TaskView> tasks = taskRepository.streamByOwnerId(userId)) {
+            tasks.forEach(consumer);
+        }
+    }
+
+    /**
+     * Creates a task owned by the given user with a single INSERT.
+     * <p>
+     * The owner is set through a reference, so the users table is not read.
+     *
+     * @param userId the ID of the authenticated user
+     * @param title the task's title
+     * @param description the task's description
+     * @return the created task
+     */
+    @Transactional
+    public Task createTask(Long userId, String title, String description) {
         Task task = Task.builder()
                 .title(title)
                 .description(description)
                 .done(false)
                 .createdAt(LocalDateTime.now())
-                .owner(user)
+                .owner(userRepository.getReferenceById(userId))
                 .build();
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        taskListCache.evict(userId);
+        return saved;
     }
 
-    public Task updateTask(String userEmail, Long id, String title, String description, boolean done) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task não encontrada"));
+    /**
+     * Updates a task of the given user with a single conditional UPDATE, which also increments its version.
+     * <p>
+     * When {@code expectedVersion} is given, the task is only updated if it is still at that version.
+     *
+     * @param expectedVersion the version the client last read, or {@code null} to update unconditionally
+     * @return {@code true} if the task was updated, {@code false} if it does not exist or belongs to another user
+     * @throws TaskVersionConflictException if the task exists but is no longer at {@code expectedVersion}
+     */
+    @Transactional
+    public boolean updateTask(
+            Long userId,
+            Long id,
+            Long expectedVersion,
+            String title,
+            String description,
+            boolean done
+    ) {
+        int count = expectedVersion == null
+                ? taskRepository.updateOwned(id, userId, title, description, done)
+                : taskRepository.updateOwnedIfVersion(id, userId, expectedVersion, title, description, done);
 
-        if (!task.getOwner().getEmail().equals(userEmail)) {
-            throw new RuntimeException("Não autorizado");
+        if (count > 0) {
+            taskListCache.evict(userId);
+            return true;
+        }
+        if (expectedVersion != null && taskRepository.existsByIdAndOwner_Id(id, userId)) {
+            throw new TaskVersionConflictException(id);
         }
+        return false;
+    }
 
-        task.setTitle(title);
-        task.setDescription(description);
-        task.setDone(done);
-        return taskRepository.save(task);
+    /**
+     * Deletes a task of the given user with a single conditional DELETE.
+     *
+     * @return {@code true} if the task was deleted, {@code false} if it does not exist or belongs to another user
+     */
+    @Transactional
+    public boolean deleteTask(Long userId, Long id) {
+        boolean deleted = taskRepository.deleteOwned(id, userId) > 0;
+        if (deleted) {
+            taskListCache.evict(userId);
+        }
+        return deleted;
     }
 
-    public void deleteTask(String userEmail, Long id) {
-        Task task = taskRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task não encontrada"));
+    /**
+     * Creates all the given tasks for the user in one transaction.
+     * <p>
+     * IDs come from a pooled sequence, so Hibernate sends the INSERTs in JDBC batches.
+     *
+     * @param userId the ID of the authenticated user
+     * @param newTasks the tasks to create
+     * @return one result per task, in the same order as {@code newTasks}
+     */
+    @Transactional
+    public List<TaskBatchResult> createTasks(Long userId, List<NewTask> newTasks) {
+        User owner = userRepository.getReferenceById(userId);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> tasks = newTasks.stream()
+                .map(t -> Task.builder()
+                        .title(t.title())
+                        .description(t.description())
+                        .done(false)
+                        .createdAt(now)
+                        .owner(owner)
+                        .build())
+                .toList();
+
+        taskListCache.evict(userId);
+        return taskRepository.saveAll(tasks).stream()
+                .map(task -> new TaskBatchResult(task.getId(), TaskBatchResult.Status.CREATED))
+                .toList();
+    }
 
-        if (!task.getOwner().getEmail().equals(userEmail)) {
-            throw new RuntimeException("Não autorizado");
+    /**
+     * Updates all the given tasks of the user with a single JDBC batch of conditional UPDATEs.
+     *
+     * @param userId the ID of the authenticated user
+     * @param updates the new values of each task
+     * @return one result per update, {@code NOT_FOUND} for tasks that do not exist or belong to another user
+     */
+    @Transactional
+    public List<TaskBatchResult> updateTasks(Long userId, List<TaskUpdate> updates) {
+        int[] counts = taskBatchRepository.batchUpdateOwned(userId, updates);
+        taskListCache.evict(userId);
+        List<TaskBatchResult> results = new ArrayList<>(updates.size());
+        for (int i = 0; i < counts.length; i++) {
+            results.add(result(updates.get(i).id(), counts[i], TaskBatchResult.Status.UPDATED));
         }
+        return results;
+    }
+
+    /**
+     * Deletes all the given tasks of the user with a single JDBC batch of conditional DELETEs.
+     *
+     * @param userId the ID of the authenticated user
+     * @param ids the IDs of the tasks to delete
+     * @return one result per ID, {@code NOT_FOUND} for tasks that do not exist or belong to another user
+     */
+    @Transactional
+    public List<TaskBatchResult> deleteTasks(Long userId, List<Long> ids) {
+        int[] counts = taskBatchRepository.batchDeleteOwned(userId, ids);
+        taskListCache.evict(userId);
+        List<TaskBatchResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < counts.length; i++) {
+            results.add(result(ids.get(i), counts[i], TaskBatchResult.Status.DELETED));
+        }
+        return results;
+    }
 
-        taskRepository.delete(task);
+    private static TaskBatchResult result(Long id, int count, TaskBatchResult.Status success) {
+        return new TaskBatchResult(id, count > 0 ? success : TaskBatchResult.Status.NOT_FOUND);
     }
 }
@@ -0,0 +1,70 @@
+package com.gabriel.cleanarch.application.task;
+
+import com.gabriel.cleanarch.domain.task.TaskTransferFormat;
+import com.gabriel.cleanarch.domain.task.TaskTransferRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports and exports tasks of any user in bulk, for migrations between instances.
+ */
+@Slf4j
+@Service
+@Observed(name = "app.service")
+@RequiredArgsConstructor
+public class TaskTransferService {
+
+    private final TaskTransferRepository taskTransferRepository;
+
+    /**
+     * Imports the tasks of a file in a single transaction: either all of them are inserted or none is.
+     * <p>
+     * The task lists of the affected users get a new version, and the outbox gets one {@code IMPORTED} event
+     * per user instead of one per task.
+     *
+     * @param format the format of the file
+     * @param in the file
+     * @return the number of imported tasks
+     * @throws InvalidTaskFileException if the file is malformed or a task is rejected by the database
+     * @throws IOException if the file cannot be read, e.g. because the client disconnected
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public long importTasks(TaskTransferFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        long imported;
+        try {
+            imported = taskTransferRepository.importTasks(format, in);
+        } catch (IllegalArgumentException | InvalidDataAccessApiUsageException e) {
+            // O IllegalArgumentException do repositório chega traduzido pelo @Repository
+            throw new InvalidTaskFileException(e.getMessage(), e);
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidTaskFileException(e.getMostSpecificCause().getMessage(), e);
+        }
+        log.info("{} tasks importadas ({}) em {} ms", imported, format,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return imported;
+    }
+
+    /**
+     * Exports the tasks of one user, or of all users, as they are read from the database.
+     *
+     * @param format the format of the file
+     * @param ownerId the owner's ID, or {@code null} for the tasks of all users
+     * @param out where the file is written
+     * @return the number of exported tasks
+     */
+    @Transactional(readOnly = true, rollbackFor = IOException.class)
+    public long exportTasks(TaskTransferFormat format, Long ownerId, OutputStream out) throws IOException {
+        return taskTransferRepository.exportTasks(format, ownerId, out);
+    }
+}
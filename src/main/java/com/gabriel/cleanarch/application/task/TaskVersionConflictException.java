@@ -0,0 +1,11 @@
+package com.gabriel.cleanarch.application.task;
+
+/**
+ * Thrown when a conditional update targets a task that has changed since the client read it.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long id) {
+        super("Task " + id + " foi alterada por outra requisição");
+    }
+}
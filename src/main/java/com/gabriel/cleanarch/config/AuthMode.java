@@ -0,0 +1,13 @@
+package com.gabriel.cleanarch.config;
+
+/**
+ * How the principal of an authenticated request is built, set with {@code app.security.auth-mode}.
+ * <ul>
+ *     <li>{@code STATELESS}: straight from the verified claims, with no database access.</li>
+ *     <li>{@code DATABASE}: from the users table.</li>
+ * </ul>
+ */
+public enum AuthMode {
+    STATELESS,
+    DATABASE
+}
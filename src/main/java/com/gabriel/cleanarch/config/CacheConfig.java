@@ -0,0 +1,13 @@
+package com.gabriel.cleanarch.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's cache abstraction. The backing store and its limits are set with the
+ * {@code spring.cache.*} properties.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
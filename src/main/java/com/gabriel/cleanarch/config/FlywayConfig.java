@@ -0,0 +1,35 @@
+package com.gabriel.cleanarch.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Slf4j
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Applies the migrations on startup unless {@code app.flyway.migrate-on-startup} is false, in which case
+     * the schema is expected to be migrated already (e.g. by the deploy) and the node starts without
+     * connecting to the database.
+     * <p>
+     * Unlike {@code spring.flyway.enabled}, this is read at runtime, so it also works in the AOT-processed
+     * jar, whose CDS training run starts without a database.
+     * @param migrateOnStartup whether to apply the migrations on startup
+     * @return the migration strategy used by Spring Boot's Flyway initializer
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${app.flyway.migrate-on-startup:true}") boolean migrateOnStartup
+    ) {
+        return flyway -> {
+            if (migrateOnStartup) {
+                flyway.migrate();
+            } else {
+                log.info("Migrations não aplicadas na subida (app.flyway.migrate-on-startup=false)");
+            }
+        };
+    }
+}
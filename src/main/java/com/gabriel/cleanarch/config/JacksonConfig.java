@@ -0,0 +1,103 @@
+package com.gabriel.cleanarch.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Registered by Spring Boot in every ObjectMapper it builds: properties are read and written through
+     * generated lambdas instead of reflection.
+     * @return the Blackbird module
+     */
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Serves and accepts CBOR, a compact binary form of the same documents, for requests with
+     * {@code Accept: application/cbor} or {@code Content-Type: application/cbor}.
+     * <p>
+     * The mapper is built from Spring Boot's builder, so it has the same modules and {@code spring.jackson.*}
+     * settings as the JSON one.
+     * @param builder Spring Boot's ObjectMapper builder
+     * @return the CBOR message converter, added to the default ones
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborObjectMapper(builder));
+    }
+
+    /**
+     * The reactive counterpart of {@link #cborHttpMessageConverter}, which WebFlux does not register by default.
+     * <p>
+     * Custom codecs come before the default ones, so the JSON encoder is registered again ahead of the CBOR one
+     * to keep JSON the response type for {@code Accept: *}{@code /*}.
+     * @param objectMapper Spring Boot's JSON ObjectMapper
+     * @param builder Spring Boot's ObjectMapper builder
+     * @return a customizer adding the CBOR encoder and decoder
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public CodecCustomizer cborCodecCustomizer(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborObjectMapper = cborObjectMapper(builder);
+        return configurer -> {
+            configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+            // Sem tipos explícitos, os codecs CBOR assumiriam os de JSON
+            configurer.customCodecs().register(new SingleValueCborEncoder(cborObjectMapper));
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborObjectMapper, MediaType.APPLICATION_CBOR));
+        };
+    }
+
+    private static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new CBORFactory()).build();
+    }
+
+    /**
+     * {@link Jackson2CborEncoder} rejects every publisher, even the single values a WebFlux controller
+     * returns; those are encoded as one document, and streams are still refused.
+     */
+    private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        private SingleValueCborEncoder(ObjectMapper objectMapper) {
+            super(objectMapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(
+                Publisher<?> inputStream,
+                DataBufferFactory bufferFactory,
+                ResolvableType elementType,
+                MimeType mimeType,
+                Map<String, Object> hints
+        ) {
+            if (inputStream instanceof Mono<?> mono) {
+                return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+            }
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+    }
+}
@@ -1,29 +1,56 @@
 package com.gabriel.cleanarch.config;
 
+import com.gabriel.cleanarch.application.auth.AuthenticatedUser;
 import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.application.auth.PrincipalCache;
+import com.gabriel.cleanarch.application.auth.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.*;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends GenericFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.security.auth-mode:stateless}")
+    private AuthMode authMode;
 
     /**
      * Filters incoming HTTP requests and checks if the request contains a valid JWT token
      * in the Authorization header. If the token is valid, it sets the SecurityContextHolder's authentication
      * to the corresponding username and their authorities.
+     * <p>
+     * The token is parsed and verified a single time per request; its signature and expiration
+     * are checked by {@link JwtService#parseToken(String)}, and revocation in memory by {@link TokenRevocationList}.
+     * Invalid and revoked tokens leave the request unauthenticated.
+     * <p>
+     * In {@link AuthMode#STATELESS} mode the principal comes from the token's claims. Tokens issued
+     * without the user ID claim, and every token in {@link AuthMode#DATABASE} mode, are resolved
+     * through the {@link PrincipalCache}.
+     * <p>
+     * Rejected tokens are counted in {@code auth.jwt.rejected}, tagged with the reason
+     * ({@code expired}, {@code invalid}, {@code revoked} or {@code unknown_user}).
      *
      * @param request the incoming HTTP request
      * @param response the outgoing HTTP response
@@ -42,7 +69,7 @@ public class JwtAuthenticationFilter extends GenericFilter {
 
         final String authHeader = httpReq.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
+        final Claims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             chain.doFilter(request, response);
@@ -50,18 +77,33 @@ public class JwtAuthenticationFilter extends GenericFilter {
         }
 
         jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        try {
+            claims = jwtService.parseToken(jwt);
+        } catch (ExpiredJwtException e) {
+            reject(httpReq, "expired");
+            chain.doFilter(request, response);
+            return;
+        } catch (JwtException | IllegalArgumentException e) {
+            reject(httpReq, "invalid");
+            chain.doFilter(request, response);
+            return;
+        }
+        if (tokenRevocationList.isRevoked(claims)) {
+            reject(httpReq, "revoked");
+            chain.doFilter(request, response);
+            return;
+        }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims.getSubject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            AuthenticatedUser user = resolvePrincipal(claims);
 
-            if (jwtService.isTokenValid(jwt, userDetails.getUsername())) {
+            if (user != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                user,
                                 null,
-                                userDetails.getAuthorities()
+                                List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name()))
                         );
 
                 authToken.setDetails(
@@ -69,9 +111,32 @@ public class JwtAuthenticationFilter extends GenericFilter {
                 );
 
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+            } else {
+                reject(httpReq, "unknown_user");
             }
         }
 
         chain.doFilter(request, response);
     }
+
+    private void reject(HttpServletRequest request, String reason) {
+        // O dispatch para /error passa de novo pelo filtro; conta só a requisição original
+        if (request.getDispatcherType() != DispatcherType.ERROR) {
+            meterRegistry.counter("auth.jwt.rejected", "reason", reason).increment();
+        }
+    }
+
+    private AuthenticatedUser resolvePrincipal(Claims claims) {
+        try {
+            if (authMode == AuthMode.STATELESS) {
+                AuthenticatedUser user = jwtService.extractPrincipal(claims);
+                if (user != null) {
+                    return user;
+                }
+            }
+            return principalCache.load(claims.getSubject());
+        } catch (UsernameNotFoundException | IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.application.auth.AuthenticatedUser;
+import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.application.auth.TokenRevocationList;
+import com.gabriel.cleanarch.domain.user.ReactiveUserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link JwtAuthenticationFilter}, registered in the WebFlux security chain
+ * by {@link ReactiveSecurityConfig}.
+ * <p>
+ * Not a bean on purpose: WebFlux would otherwise also run it outside the security chain.
+ */
+public class JwtWebFilter implements WebFilter {
+
+    private final JwtService jwtService;
+    private final ReactiveUserRepository userRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final AuthMode authMode;
+    private final MeterRegistry meterRegistry;
+
+    public JwtWebFilter(
+            JwtService jwtService,
+            ReactiveUserRepository userRepository,
+            TokenRevocationList tokenRevocationList,
+            AuthMode authMode,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.userRepository = userRepository;
+        this.tokenRevocationList = tokenRevocationList;
+        this.authMode = authMode;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Authenticates the exchange when it carries a valid bearer token, the same way as
+     * {@link JwtAuthenticationFilter}. Token verification is CPU-bound and cached by {@link JwtService};
+     * in {@link AuthMode#DATABASE} mode, or for tokens without the user ID claim, the user is looked up
+     * without blocking.
+     * <p>
+     * Invalid or revoked tokens and unknown users leave the exchange unauthenticated, and are counted in
+     * {@code auth.jwt.rejected} like in {@link JwtAuthenticationFilter}.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(authHeader.substring(7));
+        } catch (ExpiredJwtException e) {
+            reject("expired");
+            return chain.filter(exchange);
+        } catch (JwtException | IllegalArgumentException e) {
+            reject("invalid");
+            return chain.filter(exchange);
+        }
+        if (tokenRevocationList.isRevoked(claims)) {
+            reject("revoked");
+            return chain.filter(exchange);
+        }
+        if (claims.getSubject() == null) {
+            return chain.filter(exchange);
+        }
+
+        return resolvePrincipal(claims)
+                .map(user -> ReactiveSecurityContextHolder.withAuthentication(
+                        new UsernamePasswordAuthenticationToken(
+                                user,
+                                null,
+                                List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name()))
+                        )
+                ))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    reject("unknown_user");
+                    return Context.empty();
+                }))
+                .flatMap(context -> chain.filter(exchange).contextWrite(context));
+    }
+
+    private void reject(String reason) {
+        meterRegistry.counter("auth.jwt.rejected", "reason", reason).increment();
+    }
+
+    private Mono<AuthenticatedUser> resolvePrincipal(Claims claims) {
+        if (authMode == AuthMode.STATELESS) {
+            try {
+                AuthenticatedUser user = jwtService.extractPrincipal(claims);
+                if (user != null) {
+                    return Mono.just(user);
+                }
+            } catch (IllegalArgumentException e) {
+                return Mono.empty();
+            }
+        }
+        return userRepository.findByEmail(claims.getSubject())
+                .map(user -> new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole()));
+    }
+}
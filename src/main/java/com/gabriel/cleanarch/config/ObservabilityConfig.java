@@ -0,0 +1,46 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.infrastructure.observability.QueryMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+public class ObservabilityConfig {
+
+    /**
+     * Wraps the application's {@link DataSource} so that every JDBC statement, from JPA, JdbcTemplate or Flyway,
+     * goes through a {@link QueryMetricsListener}.
+     * <p>
+     * Static, like every {@link BeanPostProcessor} bean; the meter registry is only resolved when the
+     * {@code DataSource} is created.
+     * @param meterRegistry the registry the query metrics are exported to
+     * @param slowQueryThreshold statements taking at least this long are logged
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor queryMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.db.slow-query-threshold:200ms}") Duration slowQueryThreshold
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(beanName, dataSource)
+                        .listener(new QueryMetricsListener(meterRegistry.getObject(), slowQueryThreshold))
+                        .build();
+            }
+        };
+    }
+}
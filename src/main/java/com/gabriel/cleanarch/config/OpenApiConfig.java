@@ -2,16 +2,18 @@ package com.gabriel.cleanarch.config;
 
 import io.swagger.v3.oas.models.*;
 import io.swagger.v3.oas.models.info.Info;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@ConditionalOnProperty(name = "springdoc.api-docs.enabled", matchIfMissing = true)
 public class OpenApiConfig {
 
     /**
      * Returns an OpenAPI bean for the API documentation.
      * 
-     * This bean is used by SpringDoc to generate the OpenAPI documentation.
+     * This bean is used by SpringDoc to generate the OpenAPI documentation, enabled in the "dev" profile.
      * 
      * @return an OpenAPI bean.
      */
@@ -0,0 +1,41 @@
+package com.gabriel.cleanarch.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Returns a PasswordEncoder used by the application to encode and decode passwords.
+     * The returned PasswordEncoder is a DelegatingPasswordEncoder that encodes new passwords with the configured
+     * algorithm (BCrypt with the configured cost, or Argon2) and still matches hashes of the other algorithms.
+     * Hashes stored without an algorithm prefix are matched as BCrypt.
+     * @param encoderId the algorithm used for new hashes: "bcrypt" or "argon2"
+     * @param bcryptStrength the BCrypt cost factor
+     * @return the PasswordEncoder used by the application
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password.encoder:bcrypt}") String encoderId,
+            @Value("${app.security.password.bcrypt-strength:10}") int bcryptStrength
+    ) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(encoderId, encoders);
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+}
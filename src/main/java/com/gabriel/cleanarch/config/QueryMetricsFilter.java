@@ -0,0 +1,69 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.infrastructure.observability.RequestQueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Records how many JDBC statements each request executed, and how long they took in total, in
+     * {@code http.server.requests.queries} and {@code http.server.requests.db}, tagged with the request's
+     * method and route like {@code http.server.requests}.
+     * <p>
+     * Runs before the security filters, so principal lookups are counted too. Requests that did not reach a
+     * controller (e.g. rejected with 401) are not recorded.
+     * @param request the incoming HTTP request
+     * @param response the outgoing HTTP response
+     * @param chain the filter chain to continue with
+     */
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            stats.end();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (uri != null) {
+                DistributionSummary.builder("http.server.requests.queries")
+                        .description("JDBC statements executed per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri.toString())
+                        .register(meterRegistry)
+                        .record(stats.queries());
+                Timer.builder("http.server.requests.db")
+                        .description("Time spent in JDBC statements per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri.toString())
+                        .register(meterRegistry)
+                        .record(stats.nanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.infrastructure.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Binds the {@code app.rate-limit.*} policies used by {@link RateLimitFilter} and {@link RateLimitWebFilter}.
+ */
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+}
@@ -0,0 +1,83 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.infrastructure.ratelimit.RateLimitKey;
+import com.gabriel.cleanarch.infrastructure.ratelimit.RateLimiter;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final JwtService jwtService;
+
+    /**
+     * Rejects the request with a 429 status code and a {@code Retry-After} header when the bucket of its
+     * client is empty. Runs before the JWT Authentication Filter, so throttled requests never reach the
+     * password check or the user lookup.
+     * <p>
+     * Auth endpoints are limited per IP address and the task API per user: the token is only verified
+     * (through the {@link JwtService} cache) to read its subject, and requests without a valid token are
+     * limited by IP address.
+     * @param request the incoming HTTP request
+     * @param response the outgoing HTTP response
+     * @param chain the filter chain to continue with
+     */
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+        RateLimiter.Rule rule = rateLimiter.ruleFor(
+                request.getMethod(),
+                request.getRequestURI().substring(request.getContextPath().length())
+        );
+        if (rule == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String key = rule.key() == RateLimitKey.USER ? subject(request) : null;
+        long wait = rateLimiter.acquire(rule, key != null ? key : "ip:" + request.getRemoteAddr());
+        if (wait == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = RateLimiter.retryAfterSeconds(wait);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"Muitas requisições, tente novamente em " + retryAfter + "s\"}");
+    }
+
+    private String subject(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtService.parseToken(authHeader.substring(7)).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
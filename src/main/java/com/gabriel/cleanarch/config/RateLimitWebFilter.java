@@ -0,0 +1,88 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.infrastructure.ratelimit.RateLimitKey;
+import com.gabriel.cleanarch.infrastructure.ratelimit.RateLimiter;
+import io.jsonwebtoken.JwtException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reactive counterpart of {@link RateLimitFilter}, registered before {@link JwtWebFilter} in the WebFlux
+ * security chain by {@link ReactiveSecurityConfig}.
+ * <p>
+ * Not a bean on purpose: WebFlux would otherwise also run it outside the security chain.
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final JwtService jwtService;
+
+    public RateLimitWebFilter(RateLimiter rateLimiter, JwtService jwtService) {
+        this.rateLimiter = rateLimiter;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Rejects the exchange with a 429 status code and a {@code Retry-After} header when the bucket of its
+     * client is empty, the same way as {@link RateLimitFilter}. Taking a token never blocks.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        RateLimiter.Rule rule = rateLimiter.ruleFor(
+                request.getMethod().name(),
+                request.getPath().pathWithinApplication().value()
+        );
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = rule.key() == RateLimitKey.USER ? subject(request) : null;
+        long wait = rateLimiter.acquire(rule, key != null ? key : "ip:" + remoteAddress(request));
+        if (wait == 0) {
+            return chain.filter(exchange);
+        }
+
+        long retryAfter = RateLimiter.retryAfterSeconds(wait);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer body = response.bufferFactory().wrap(
+                ("{\"error\":\"Muitas requisições, tente novamente em " + retryAfter + "s\"}")
+                        .getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(body));
+    }
+
+    private String subject(ServerHttpRequest request) {
+        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            return jwtService.parseToken(authHeader.substring(7)).getSubject();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String remoteAddress(ServerHttpRequest request) {
+        InetSocketAddress address = request.getRemoteAddress();
+        if (address == null) {
+            return "unknown";
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.application.auth.JwtService;
+import com.gabriel.cleanarch.application.auth.TokenRevocationList;
+import com.gabriel.cleanarch.domain.user.ReactiveUserRepository;
+import com.gabriel.cleanarch.infrastructure.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    /**
+     * Returns the SecurityWebFilterChain of the reactive deployment, equivalent to
+     * {@link SecurityConfig#filterChain}: no CSRF, no session (the security context is never stored),
+     * the same public and ADMIN-only endpoints, rate limiting through {@link RateLimitWebFilter} and JWT authentication
+     * through {@link JwtWebFilter}.
+     * <p>
+     * Login, registration, refresh and logout are only served by the servlet deployment; tokens issued there
+     * are accepted here, since both verify them with the same key, and tokens revoked there are rejected here
+     * through the shared {@code revoked_tokens} table.
+     * @param http the ServerHttpSecurity to configure
+     * @param jwtService the service used to verify tokens
+     * @param userRepository the repository used to resolve users in {@link AuthMode#DATABASE} mode
+     * @param tokenRevocationList the access tokens revoked on logout, on any node
+     * @param authMode how the principal is built from a token
+     * @param meterRegistry the registry rejected tokens are counted in
+     * @param rateLimiter the token buckets of the configured rate limits
+     * @return a SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            JwtService jwtService,
+            ReactiveUserRepository userRepository,
+            TokenRevocationList tokenRevocationList,
+            @Value("${app.security.auth-mode:stateless}") AuthMode authMode,
+            MeterRegistry meterRegistry,
+            RateLimiter rateLimiter
+    ) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(auth -> auth
+                        .pathMatchers(
+                                "/api/auth/**",
+                                "/v3/api-docs/**",
+                                "/swagger-ui/**",
+                                "/swagger-ui.html"
+                        ).permitAll()
+                        .pathMatchers(HttpMethod.GET, "/health", "/actuator/health").permitAll()
+                        .pathMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .addFilterBefore(new RateLimitWebFilter(rateLimiter, jwtService), SecurityWebFiltersOrder.AUTHENTICATION)
+                .addFilterAt(new JwtWebFilter(jwtService, userRepository, tokenRevocationList, authMode, meterRegistry), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.gabriel.cleanarch.config;
+
+import com.gabriel.cleanarch.infrastructure.persistence.routing.ReplicaProperties;
+import com.gabriel.cleanarch.infrastructure.persistence.routing.ReplicaRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Enables the read replicas when at least one is configured in {@code app.datasource.replicas}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    /**
+     * Routes the application's {@link DataSource} through the {@link ReplicaRouter}.
+     * <p>
+     * Ordered, so it runs before {@link ObservabilityConfig#queryMetricsDataSourcePostProcessor} and the
+     * statements sent to the replicas are measured too.
+     * @param replicaRouter the router, only resolved when the {@code DataSource} is created
+     * @return the post processor
+     */
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(ObjectProvider<ReplicaRouter> replicaRouter) {
+        return new ReplicaRoutingPostProcessor(replicaRouter);
+    }
+
+    private record ReplicaRoutingPostProcessor(ObjectProvider<ReplicaRouter> replicaRouter)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            return replicaRouter.getObject().route(dataSource);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.gabriel.cleanarch.config;
+
+import io.airlift.compress.zstd.ZstdOutputStream;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses responses with zstd or gzip, whichever the client prefers in {@code Accept-Encoding}; zstd wins
+ * ties, since it compresses JSON about as well as gzip for a fraction of the CPU.
+ * <p>
+ * Only responses of the configured MIME types that reach {@code app.compression.min-response-size} are
+ * compressed, and never those with a strong {@code ETag}, which identifies the exact bytes. The start of each
+ * body is buffered until its size is known to be above or below the threshold. Asynchronous responses, such as
+ * the NDJSON stream, are finished on their async dispatch; non-blocking ones ({@code WriteListener}) are not
+ * compressed.
+ * <p>
+ * Replaces the servlet container's compression ({@code server.compression.*}), which only knows gzip and
+ * would compress zstd responses a second time.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.compression.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final String ZSTD = "zstd";
+    private static final String GZIP = "gzip";
+
+    private final List<MimeType> mimeTypes;
+    private final int minResponseSize;
+
+    public ResponseCompressionFilter(
+            @Value("${app.compression.mime-types:application/json,application/x-ndjson,application/cbor}")
+            List<String> mimeTypes,
+            @Value("${app.compression.min-response-size:2KB}") DataSize minResponseSize
+    ) {
+        this.mimeTypes = mimeTypes.stream().map(MimeTypeUtils::parseMimeType).toList();
+        this.minResponseSize = (int) minResponseSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request)) {
+            String encoding = HttpMethod.HEAD.matches(request.getMethod())
+                    ? null
+                    : negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+            if (encoding == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            responseToUse = new CompressingResponse(response, encoding);
+        }
+
+        chain.doFilter(request, responseToUse);
+
+        CompressingResponse compressingResponse = WebUtils.getNativeResponse(responseToUse, CompressingResponse.class);
+        if (compressingResponse != null && !isAsyncStarted(request)) {
+            compressingResponse.finish();
+        }
+    }
+
+    /**
+     * Returns the encoding with the highest quality value in the given {@code Accept-Encoding} header,
+     * {@code zstd} on ties, or {@code null} if the client accepts neither.
+     */
+    static String negotiate(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        double zstd = -1;
+        double gzip = -1;
+        double any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equalsIgnoreCase(ZSTD)) {
+                zstd = quality;
+            } else if (name.equalsIgnoreCase(GZIP) || name.equalsIgnoreCase("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        zstd = zstd < 0 ? any : zstd;
+        gzip = gzip < 0 ? any : gzip;
+
+        if (zstd > 0 && zstd >= gzip) {
+            return ZSTD;
+        }
+        return gzip > 0 ? GZIP : null;
+    }
+
+    /**
+     * Decides whether to compress at the first write of a body whose type is not compressible, or once the body
+     * reaches the minimum size, or when the response is complete; until then the body is buffered.
+     */
+    private class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final String encoding;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private OutputStream target;
+        private boolean compressed;
+        private long contentLength = -1;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        private CompressingResponse(HttpServletResponse response, String encoding) {
+            super(response);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new BufferingOutputStream();
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (target == null) {
+                contentLength = len;
+            } else if (!compressed) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (flushTarget()) {
+                super.flushBuffer();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            if (target == null) {
+                buffer.reset();
+            }
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            if (target == null) {
+                buffer.reset();
+                contentLength = -1;
+            }
+        }
+
+        private void write(byte[] bytes, int offset, int length) throws IOException {
+            if (target == null) {
+                if (!compressible()) {
+                    start(false);
+                } else if (buffer.size() + length < minResponseSize) {
+                    buffer.write(bytes, offset, length);
+                    return;
+                } else {
+                    start(true);
+                }
+            }
+            target.write(bytes, offset, length);
+        }
+
+        /**
+         * Flushes what was written so far, unless the response may still be compressed: an SSE stream commits its
+         * headers right away, a JSON body only once it is decided.
+         */
+        private boolean flushTarget() throws IOException {
+            if (target == null) {
+                if (compressible()) {
+                    return false;
+                }
+                start(false);
+            }
+            target.flush();
+            return true;
+        }
+
+        private void start(boolean compress) throws IOException {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (compress) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                target = encoding.equals(ZSTD)
+                        ? new ZstdOutputStream(response.getOutputStream())
+                        : new GZIPOutputStream(response.getOutputStream(), 8192, true);
+                compressed = true;
+            } else {
+                if (contentLength >= 0) {
+                    response.setContentLengthLong(contentLength);
+                }
+                target = response.getOutputStream();
+            }
+            buffer.writeTo(target);
+            buffer = null;
+        }
+
+        private boolean compressible() {
+            String contentType = getContentType();
+            if (contentType == null || getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+                return false;
+            }
+            String etag = getHeader(HttpHeaders.ETAG);
+            if (etag != null && !etag.startsWith("W/")) {
+                return false;
+            }
+            MimeType mimeType = MimeTypeUtils.parseMimeType(contentType);
+            return mimeTypes.stream().anyMatch(candidate -> candidate.isCompatibleWith(mimeType));
+        }
+
+        private void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (target == null) {
+                // Sem corpo (204, 304, sendError): o stream do container nem é aberto
+                if (buffer.size() == 0) {
+                    if (contentLength >= 0) {
+                        super.setContentLengthLong(contentLength);
+                    }
+                    return;
+                }
+                start(buffer.size() >= minResponseSize && compressible());
+            }
+            if (compressed) {
+                target.close();
+            }
+        }
+
+        private class BufferingOutputStream extends ServletOutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                CompressingResponse.this.write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                CompressingResponse.this.write(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                flushTarget();
+            }
+
+            @Override
+            public boolean isReady() {
+                if (target == null || compressed) {
+                    return true;
+                }
+                try {
+                    return getResponse().getOutputStream().isReady();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            /**
+             * Non-blocking writes are not compressed: the application then writes on its own schedule and ends the
+             * response without an async dispatch, so the filter would have no point at which to finish a compressed
+             * body. What was buffered so far is written as is and the listener goes to the container's stream.
+             */
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                if (compressed) {
+                    throw new IllegalStateException(
+                            "A compressão já começou: configure a escrita não bloqueante antes de escrever o corpo");
+                }
+                try {
+                    if (target == null) {
+                        start(false);
+                    }
+                    getResponse().getOutputStream().setWriteListener(writeListener);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+}
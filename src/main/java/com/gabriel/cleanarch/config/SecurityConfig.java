@@ -1,8 +1,11 @@
 package com.gabriel.cleanarch.config;
 
+import com.gabriel.cleanarch.application.auth.PrincipalCache;
 import com.gabriel.cleanarch.domain.user.User;
 import com.gabriel.cleanarch.domain.user.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -14,19 +17,21 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.*;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     /**
      * Returns a UserDetailsService that loads users from the database by email.
@@ -48,11 +53,30 @@ public class SecurityConfig {
         };
     }
 
+    /**
+     * Returns a UserDetailsPasswordService that stores the re-encoded password of a user after a successful login,
+     * when the stored hash uses an outdated algorithm or cost.
+     * The user's cached principal is invalidated afterwards.
+     */
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (userDetails, newPassword) -> {
+            userRepository.updatePassword(userDetails.getUsername(), newPassword);
+            principalCache.invalidate(userDetails.getUsername());
+            return org.springframework.security.core.userdetails.User
+                    .withUserDetails(userDetails)
+                    .password(newPassword)
+                    .build();
+        };
+    }
+
     /**
      * Returns a SecurityFilterChain that disables CSRF protection and sets the session creation policy to STATELESS.
      * It also permits all requests to the /api/auth/**, /v3/api-docs/**, /swagger-ui/**, and /swagger-ui.html endpoints,
-     * as well as all GET requests to the /health endpoint.
-     * All other requests are authenticated using the JWT Authentication Filter.
+     * as well as all GET requests to the /health and /actuator/health endpoints.
+     * Requests to /api/admin/** and to the remaining /actuator/** endpoints (metrics, caches, prometheus) require the
+     * ADMIN role.
+     * All other requests are authenticated using the JWT Authentication Filter, preceded by the Rate Limit Filter.
      * @return a SecurityFilterChain
      * @throws Exception if there is an error building the SecurityFilterChain
      */
@@ -68,17 +92,44 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/swagger-ui.html"
                         ).permitAll()
-                        .requestMatchers(HttpMethod.GET, "/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/health", "/actuator/health").permitAll()
+                        .requestMatchers("/api/admin/**", "/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * Keeps the servlet container from registering the JWT Authentication Filter on its own: being a bean,
+     * it would otherwise run a second time for every request, outside the SecurityFilterChain.
+     * @return a disabled FilterRegistrationBean for the JWT Authentication Filter
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Keeps the servlet container from registering the Rate Limit Filter on its own, for the same reason as
+     * {@link #jwtAuthFilterRegistration()}.
+     * @return a disabled FilterRegistrationBean for the Rate Limit Filter
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * Returns a DaoAuthenticationProvider that uses the UserDetailsService returned by userDetailsService()
      * and the PasswordEncoder returned by passwordEncoder() to authenticate users.
+     * On a successful login, outdated password hashes are upgraded through userDetailsPasswordService().
      * The DaoAuthenticationProvider is used by the AuthenticationManager to authenticate users.
      * @param passwordEncoder the PasswordEncoder to use for encoding and decoding passwords
      * @return a DaoAuthenticationProvider
@@ -88,6 +139,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
@@ -103,15 +155,4 @@ public class SecurityConfig {
             throws Exception {
         return config.getAuthenticationManager();
     }
-
-        /**
-         * Returns a PasswordEncoder used by the application to encode and decode passwords.
-         * The returned PasswordEncoder is a BCryptPasswordEncoder, which is a PasswordEncoder that uses the BCrypt algorithm
-         * to encode and decode passwords.
-         * @return the PasswordEncoder used by the application
-         */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
 }
@@ -0,0 +1,47 @@
+package com.gabriel.cleanarch.domain.task;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking port for tasks, used by the reactive deployment. Mirrors the queries of
+ * {@link TaskRepository} and always works with {@link TaskView} projections.
+ */
+public interface ReactiveTaskRepository {
+
+    /**
+     * Returns the owner's tasks that match the filter, ordered by {@code (createdAt, id)} in the filter's direction.
+     *
+     * @see TaskSearchRepository#findPage(Long, TaskFilter, LocalDateTime, Long, int)
+     */
+    Flux<TaskView> findPage(Long ownerId, TaskFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Returns the task, if it exists and belongs to the owner.
+     */
+    Mono<TaskView> findByIdAndOwnerId(Long id, Long ownerId);
+
+    /**
+     * Inserts a new, not done task for the owner.
+     *
+     * @return the created task
+     */
+    Mono<TaskView> insert(Long ownerId, String title, String description, LocalDateTime createdAt);
+
+    /**
+     * Updates the task only if it belongs to the owner and, when {@code version} is not {@code null},
+     * is still at that version. The task's version is incremented.
+     *
+     * @return the number of updated rows
+     */
+    Mono<Long> updateOwned(Long id, Long ownerId, Long version, String title, String description, boolean done);
+
+    /**
+     * Deletes the task only if it belongs to the owner.
+     *
+     * @return the number of deleted rows
+     */
+    Mono<Long> deleteOwned(Long id, Long ownerId);
+}
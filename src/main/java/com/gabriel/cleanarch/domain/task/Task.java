@@ -15,8 +15,10 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
 
+    // Sequence com pool de 50 IDs: permite batch de INSERTs (IDENTITY desativa o batching do Hibernate)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -27,6 +29,9 @@ public class Task {
 
     private LocalDateTime createdAt;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User owner;
@@ -0,0 +1,23 @@
+package com.gabriel.cleanarch.domain.task;
+
+import java.util.List;
+
+/**
+ * Bulk write operations on tasks, each sent to the database as a single JDBC batch.
+ */
+public interface TaskBatchRepository {
+
+    /**
+     * Updates the given tasks, skipping those that do not belong to the owner.
+     *
+     * @return the number of updated rows for each update, in the same order as {@code updates}
+     */
+    int[] batchUpdateOwned(Long ownerId, List<TaskUpdate> updates);
+
+    /**
+     * Deletes the given tasks, skipping those that do not belong to the owner.
+     *
+     * @return the number of deleted rows for each ID, in the same order as {@code ids}
+     */
+    int[] batchDeleteOwned(Long ownerId, List<Long> ids);
+}
@@ -0,0 +1,25 @@
+package com.gabriel.cleanarch.domain.task;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for listing a user's tasks. Every {@code null} field is ignored.
+ *
+ * @param done only tasks with this done status
+ * @param createdFrom only tasks created at or after this date
+ * @param createdTo only tasks created before this date
+ * @param text only tasks whose title or description match this text
+ * @param descending whether tasks are ordered newest first instead of oldest first
+ * @param includeArchived whether archived tasks are listed too, see {@link TaskHistory}
+ */
+public record TaskFilter(
+        Boolean done,
+        LocalDateTime createdFrom,
+        LocalDateTime createdTo,
+        String text,
+        boolean descending,
+        boolean includeArchived
+) {
+
+    public static final TaskFilter NONE = new TaskFilter(null, null, null, null, false, false);
+}
@@ -0,0 +1,41 @@
+package com.gabriel.cleanarch.domain.task;
+
+import com.gabriel.cleanarch.domain.user.User;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only mapping of the {@code task_history} view: the tasks in use together with the archived ones,
+ * which completed tasks are moved to after some time. Only listings that opt in to archived tasks read it;
+ * everything else works on {@link Task}.
+ */
+@Entity
+@Immutable
+@Table(name = "task_history")
+@Getter
+@NoArgsConstructor
+public class TaskHistory {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String description;
+
+    private boolean done;
+
+    private LocalDateTime createdAt;
+
+    private Long version;
+
+    private boolean archived;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id")
+    private User owner;
+}
@@ -1,10 +1,87 @@
 package com.gabriel.cleanarch.domain.task;
 
-import com.gabriel.cleanarch.domain.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByOwner(User owner);
+    /**
+     * Returns the task as a {@link TaskView} projection, if it exists and belongs to the owner.
+     */
+    @Query("""
+            select new com.gabriel.cleanarch.domain.task.TaskView(t.id, t.title, t.description, t.done, t.createdAt, t.version)
+            from Task t
+            where t.id = :id and t.owner.id = :ownerId
+            """)
+    Optional<TaskView> findViewByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    boolean existsByIdAndOwner_Id(Long id, Long ownerId);
+
+    /**
+     * Streams all of the owner's tasks as {@link TaskView} projections from a database cursor.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.gabriel.cleanarch.domain.task.TaskView(t.id, t.title, t.description, t.done, t.createdAt, t.version)
+            from Task t
+            where t.owner.id = :ownerId
+            order by t.createdAt, t.id
+            """)
+    Stream<TaskView> streamByOwnerId(@Param("ownerId") Long ownerId);
+
+    /**
+     * Updates the task only if it belongs to the given owner.
+     *
+     * @return the number of updated rows: 1 if the task exists and belongs to the owner, 0 otherwise
+     */
+    @Modifying
+    @Query("""
+            update Task t
+            set t.title = :title, t.description = :description, t.done = :done, t.version = t.version + 1
+            where t.id = :id and t.owner.id = :ownerId
+            """)
+    int updateOwned(
+            @Param("id") Long id,
+            @Param("ownerId") Long ownerId,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("done") boolean done
+    );
+
+    /**
+     * Updates the task only if it belongs to the given owner and is still at the expected version.
+     *
+     * @return the number of updated rows: 1 on success, 0 if the task is missing, not owned or at another version
+     */
+    @Modifying
+    @Query("""
+            update Task t
+            set t.title = :title, t.description = :description, t.done = :done, t.version = t.version + 1
+            where t.id = :id and t.owner.id = :ownerId and t.version = :version
+            """)
+    int updateOwnedIfVersion(
+            @Param("id") Long id,
+            @Param("ownerId") Long ownerId,
+            @Param("version") Long version,
+            @Param("title") String title,
+            @Param("description") String description,
+            @Param("done") boolean done
+    );
+
+    /**
+     * Deletes the task only if it belongs to the given owner.
+     *
+     * @return the number of deleted rows: 1 if the task exists and belongs to the owner, 0 otherwise
+     */
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.owner.id = :ownerId")
+    int deleteOwned(@Param("id") Long id, @Param("ownerId") Long ownerId);
 }
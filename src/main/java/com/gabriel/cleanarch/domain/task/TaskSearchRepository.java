@@ -0,0 +1,23 @@
+package com.gabriel.cleanarch.domain.task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filtered, keyset-paginated listing of tasks, evaluated entirely by the database.
+ */
+public interface TaskSearchRepository {
+
+    /**
+     * Returns the owner's tasks that match the filter, as {@link TaskView} projections ordered by
+     * {@code (createdAt, id)} in the filter's direction.
+     *
+     * @param ownerId the owner's ID
+     * @param filter the criteria the tasks must match
+     * @param afterCreatedAt the creation date of the last task of the previous page, or {@code null} for the first page
+     * @param afterId the ID of the last task of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of tasks returned
+     * @return the matching tasks
+     */
+    List<TaskView> findPage(Long ownerId, TaskFilter filter, LocalDateTime afterCreatedAt, Long afterId, int limit);
+}
@@ -0,0 +1,21 @@
+package com.gabriel.cleanarch.domain.task;
+
+/**
+ * File formats of the task import and export.
+ * <p>
+ * Both carry the same fields: the owner's ID, title, description, done status and creation date. Task IDs are
+ * not part of the file; they are assigned on import.
+ */
+public enum TaskTransferFormat {
+
+    /**
+     * Comma-separated values with a header line: {@code user_id,title,description,done,created_at}.
+     * An unquoted empty field is a null value, a quoted one ({@code ""}) an empty string.
+     */
+    CSV,
+
+    /**
+     * One JSON object per line: {@code {"userId":1,"title":"...","description":"...","done":false,"createdAt":"..."}}.
+     */
+    NDJSON
+}
@@ -0,0 +1,33 @@
+package com.gabriel.cleanarch.domain.task;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Bulk transfer of tasks between the database and {@link TaskTransferFormat} files, streamed in both directions
+ * so memory use does not depend on the number of tasks.
+ */
+public interface TaskTransferRepository {
+
+    /**
+     * Inserts the tasks read from the stream, in the current transaction.
+     *
+     * @param format the format of the stream
+     * @param in the tasks to insert
+     * @return the number of inserted tasks
+     * @throws IllegalArgumentException if the stream is not a valid file of the format
+     */
+    long importTasks(TaskTransferFormat format, InputStream in) throws IOException;
+
+    /**
+     * Writes the tasks of one user, ordered by creation date, or of all users, in no particular order. Archived
+     * tasks are written too, so an export holds the whole history.
+     *
+     * @param format the format to write
+     * @param ownerId the owner's ID, or {@code null} for the tasks of all users
+     * @param out where the tasks are written
+     * @return the number of written tasks
+     */
+    long exportTasks(TaskTransferFormat format, Long ownerId, OutputStream out) throws IOException;
+}
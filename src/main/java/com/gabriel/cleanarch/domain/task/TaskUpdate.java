@@ -0,0 +1,12 @@
+package com.gabriel.cleanarch.domain.task;
+
+/**
+ * New values for an existing task.
+ *
+ * @param id the task's ID
+ * @param title the new title
+ * @param description the new description
+ * @param done the new done status
+ */
+public record TaskUpdate(Long id, String title, String description, boolean done) {
+}
@@ -0,0 +1,31 @@
+package com.gabriel.cleanarch.domain.task;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a task: only the columns a client sees, with no reference to the owner.
+ * <p>
+ * Selected directly by the repository's projection queries, so listing tasks never loads
+ * {@link Task} entities or their lazy owner.
+ */
+public record TaskView(
+        Long id,
+        String title,
+        String description,
+        boolean done,
+        LocalDateTime createdAt,
+        Long version
+) implements Serializable {
+
+    public static TaskView from(Task task) {
+        return new TaskView(
+                task.getId(),
+                task.getTitle(),
+                task.getDescription(),
+                task.isDone(),
+                task.getCreatedAt(),
+                task.getVersion()
+        );
+    }
+}
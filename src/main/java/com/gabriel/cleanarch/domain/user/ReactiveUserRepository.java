@@ -0,0 +1,18 @@
+package com.gabriel.cleanarch.domain.user;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking port for users, used by the reactive deployment.
+ */
+public interface ReactiveUserRepository {
+
+    Mono<User> findByEmail(String email);
+
+    /**
+     * Returns the version of the user's task list with a primary key lookup.
+     *
+     * @see UserRepository#findTaskListVersion(Long)
+     */
+    Mono<TaskListVersion> findTaskListVersion(Long id);
+}
@@ -0,0 +1,41 @@
+package com.gabriel.cleanarch.domain.user;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh tokens, stored by the SHA-256 hash of the token only.
+ * <p>
+ * Tokens issued from the same login form a family: each refresh uses up the presented token and issues the
+ * next one of the family.
+ */
+public interface RefreshTokenRepository {
+
+    /**
+     * Stores a new refresh token.
+     */
+    void save(byte[] tokenHash, UUID familyId, Long userId, Duration ttl);
+
+    /**
+     * Marks the token as used and stores the next token of its family, in a single statement, if the token
+     * exists, has not been used and has not expired.
+     *
+     * @return the owner of the token, or empty if it cannot be used
+     */
+    Optional<User> rotate(byte[] tokenHash, byte[] nextTokenHash, Duration ttl);
+
+    /**
+     * Deletes every token of the family the given token belongs to.
+     *
+     * @return the number of deleted tokens
+     */
+    int deleteFamily(byte[] tokenHash);
+
+    /**
+     * Deletes the expired tokens.
+     *
+     * @return the number of deleted tokens
+     */
+    int deleteExpired();
+}
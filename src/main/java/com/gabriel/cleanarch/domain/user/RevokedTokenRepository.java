@@ -0,0 +1,38 @@
+package com.gabriel.cleanarch.domain.user;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Access tokens revoked before their expiration, identified by their {@code jti} claim.
+ */
+public interface RevokedTokenRepository {
+
+    /**
+     * Stores the revocation of a token; revoking a token twice has no effect.
+     */
+    void save(UUID jti, Instant expiresAt);
+
+    /**
+     * Returns the revocations stored after the given instant, as measured by the database, whose token has
+     * not expired yet.
+     */
+    List<RevokedToken> findRevokedAfter(Instant since);
+
+    /**
+     * Deletes the revocations of expired tokens.
+     *
+     * @return the number of deleted revocations
+     */
+    int deleteExpired();
+
+    /**
+     * A revoked token.
+     *
+     * @param jti the token's ID
+     * @param expiresAt the token's expiration, after which it no longer needs to be tracked
+     */
+    record RevokedToken(UUID jti, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.gabriel.cleanarch.domain.user;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change marker of a user's task list, incremented by the database on every task write.
+ *
+ * @param version the number of writes to the user's tasks
+ * @param modifiedAt when the user's tasks last changed, or {@code null} if they never did
+ */
+public record TaskListVersion(long version, LocalDateTime modifiedAt) {
+}
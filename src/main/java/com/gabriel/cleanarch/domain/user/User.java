@@ -3,6 +3,8 @@ package com.gabriel.cleanarch.domain.user;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "users")
 @Getter
@@ -24,4 +26,11 @@ public class User {
 
     @Enumerated(EnumType.STRING)
     private Role role;
+
+    // Mantidos pelos triggers de tasks (V4): versão e data da última alteração nas tasks do usuário
+    @Column(name = "task_version", insertable = false, updatable = false)
+    private long taskVersion;
+
+    @Column(name = "tasks_modified_at", insertable = false, updatable = false)
+    private LocalDateTime tasksModifiedAt;
 }
@@ -1,9 +1,38 @@
 package com.gabriel.cleanarch.domain.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    /**
+     * Same as {@link #findByEmail(String)}, in a read-only transaction, so it may be served by a read replica
+     * that has not caught up with the primary yet.
+     */
+    @Transactional(readOnly = true)
+    Optional<User> findReadOnlyByEmail(String email);
+
+    /**
+     * Returns the version of the user's task list with a primary key lookup, without loading any task.
+     */
+    @Query("""
+            select new com.gabriel.cleanarch.domain.user.TaskListVersion(u.taskVersion, u.tasksModifiedAt)
+            from User u
+            where u.id = :id
+            """)
+    Optional<TaskListVersion> findTaskListVersion(@Param("id") Long id);
+
+    /**
+     * Replaces the stored password hash of the user, e.g. when it is upgraded to a stronger encoding.
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 }
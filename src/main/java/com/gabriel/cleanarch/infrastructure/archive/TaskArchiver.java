@@ -0,0 +1,138 @@
+package com.gabriel.cleanarch.infrastructure.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves completed tasks created more than {@code app.tasks.archive.after} ago from {@code tasks} to
+ * {@code tasks_archive} (see migration V9), so the table the API reads and writes holds only the hot set.
+ * <p>
+ * Every {@code app.tasks.archive.interval} the archiver moves batches of {@code app.tasks.archive.batch-size}
+ * tasks, each in its own short transaction, until none is left. Rows are picked with {@code FOR UPDATE SKIP LOCKED},
+ * so several nodes can archive at once without blocking each other or the users editing their tasks.
+ * Archived tasks do not generate outbox events; the task lists of their owners get a new version, published as an
+ * {@code ARCHIVED} event (see migration V11). Archived tasks are read-only: the API can list and export them, but
+ * neither update nor delete them.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.tasks.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskArchiver implements SmartLifecycle {
+
+    private static final String ARCHIVE_BATCH = """
+            WITH archived AS (
+                DELETE FROM tasks t
+                WHERE (t.id, t.user_id) IN (
+                    SELECT id, user_id FROM tasks
+                    WHERE done = true AND created_at < ?
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING t.id, t.title, t.description, t.done, t.created_at, t.user_id, t.version
+            )
+            INSERT INTO tasks_archive (id, title, description, done, created_at, user_id, version)
+            SELECT id, title, description, done, created_at, user_id, version FROM archived""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration after;
+    private final Duration interval;
+    private final int batchSize;
+
+    private final Counter archived;
+    private final Timer batchTimer;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public TaskArchiver(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${app.tasks.archive.after:90d}") Duration after,
+            @Value("${app.tasks.archive.interval:1h}") Duration interval,
+            @Value("${app.tasks.archive.batch-size:1000}") int batchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.after = after;
+        this.interval = interval;
+        this.batchSize = batchSize;
+
+        this.archived = Counter.builder("tasks.archived")
+                .description("Completed tasks moved to the archive")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("tasks.archive.batch")
+                .description("Time to archive one batch of completed tasks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts archiving once the context is refreshed, one interval after the startup of the node.
+     */
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveAll, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdown();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Archives batches until a batch comes back partial or the archiver is stopped.
+     */
+    void archiveAll() {
+        // Corte fixo na rodada: tasks que envelhecem durante a rodada ficam para a próxima
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(after));
+        long total = 0;
+        try {
+            int moved;
+            do {
+                moved = batchTimer.record(() -> archiveBatch(cutoff));
+                archived.increment(moved);
+                total += moved;
+            } while (moved == batchSize && scheduler != null);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao arquivar tasks concluídas", e);
+        }
+        if (total > 0) {
+            log.info("{} tasks concluídas arquivadas", total);
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            // Local à transação: o trigger do outbox ignora as tasks arquivadas
+            jdbcTemplate.queryForObject("SELECT set_config('app.task_archival', 'on', true)", String.class);
+            return jdbcTemplate.update(ARCHIVE_BATCH, cutoff, batchSize);
+        });
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gabriel.cleanarch.infrastructure.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gabriel.cleanarch.application.task.TaskEvent;
+import com.gabriel.cleanarch.application.task.TaskEventBroker;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Receives the task events that the database publishes on the {@value #CHANNEL} channel
+ * (see migration V5) and hands them to the {@link TaskEventBroker}.
+ * <p>
+ * Every node listens on its own connection, so a write on any node reaches the feeds open on all of them.
+ * Notifications arrive after commit and in commit order. If the connection is lost, notifications sent in
+ * the meantime are gone, so every feed is closed and clients reload their lists when they reconnect.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PgTaskEventListener implements SmartLifecycle, Runnable {
+
+    static final String CHANNEL = "task_events";
+
+    private final DataSource dataSource;
+    private final TaskEventBroker broker;
+    private final ObjectMapper objectMapper;
+    private final Duration pollInterval;
+    private final Duration retryInterval;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public PgTaskEventListener(
+            DataSource dataSource,
+            TaskEventBroker broker,
+            ObjectMapper objectMapper,
+            @Value("${app.tasks.events.listener.poll-interval:1s}") Duration pollInterval,
+            @Value("${app.tasks.events.listener.retry-interval:5s}") Duration retryInterval
+    ) {
+        this.dataSource = dataSource;
+        this.broker = broker;
+        this.objectMapper = objectMapper;
+        this.pollInterval = pollInterval;
+        this.retryInterval = retryInterval;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this, "task-events-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void run() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (connectedBefore) {
+                    broker.disconnectAll();
+                }
+                connectedBefore = true;
+                listen(connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Conexão de LISTEN {} perdida, reconectando em {}", CHANNEL, retryInterval, e);
+                sleep(retryInterval);
+            }
+        }
+    }
+
+    private void listen(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications((int) pollInterval.toMillis());
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                try {
+                    broker.publish(objectMapper.readValue(notification.getParameter(), TaskEvent.class));
+                } catch (IOException e) {
+                    log.warn("Evento de task inválido ignorado: {}", notification.getParameter(), e);
+                }
+            }
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
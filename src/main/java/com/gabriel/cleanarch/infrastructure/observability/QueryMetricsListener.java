@@ -0,0 +1,78 @@
+package com.gabriel.cleanarch.infrastructure.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.QueryType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every JDBC statement executed through the application's {@code DataSource}, replacing
+ * {@code spring.jpa.show-sql}.
+ * <p>
+ * Each statement is recorded in the {@code db.queries} timer, tagged with its type and outcome, and added
+ * to the {@link RequestQueryStats} of the current request. Statements slower than the threshold are logged
+ * at WARN with their SQL, never with their parameters.
+ */
+@Slf4j
+public class QueryMetricsListener implements QueryExecutionListener {
+
+    private static final String STARTED_AT = QueryMetricsListener.class.getName() + ".startedAt";
+
+    private final Map<QueryType, Timer> succeeded = new EnumMap<>(QueryType.class);
+    private final Map<QueryType, Timer> failed = new EnumMap<>(QueryType.class);
+    private final long slowQueryNanos;
+
+    public QueryMetricsListener(MeterRegistry meterRegistry, Duration slowQueryThreshold) {
+        for (QueryType type : QueryType.values()) {
+            succeeded.put(type, timer(meterRegistry, type, "success"));
+            failed.put(type, timer(meterRegistry, type, "error"));
+        }
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long startedAt = execInfo.getCustomValue(STARTED_AT, Long.class);
+        if (startedAt == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - startedAt;
+
+        QueryType type = queryInfoList.isEmpty()
+                ? QueryType.OTHER
+                : QueryUtils.getQueryType(queryInfoList.get(0).getQuery());
+        (execInfo.isSuccess() ? succeeded : failed).get(type).record(nanos, TimeUnit.NANOSECONDS);
+        RequestQueryStats.record(nanos);
+
+        if (nanos >= slowQueryNanos) {
+            log.warn("Query lenta ({} ms{}): {}",
+                    TimeUnit.NANOSECONDS.toMillis(nanos),
+                    execInfo.isBatch() ? ", batch de " + execInfo.getBatchSize() : "",
+                    queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")));
+        }
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, QueryType type, String outcome) {
+        return Timer.builder("db.queries")
+                .description("JDBC statements executed by the application")
+                .tag("type", type.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.gabriel.cleanarch.infrastructure.observability;
+
+/**
+ * Number and total time of the JDBC statements executed by the current request, on its own thread.
+ * <p>
+ * Opened by the request filter with {@link #start()} and filled by {@link QueryMetricsListener};
+ * statements outside a request (schedulers, the outbox relay, ...) are not tracked here.
+ */
+public final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int queries;
+    private long nanos;
+
+    private RequestQueryStats() {
+    }
+
+    /**
+     * Starts tracking the statements of the current thread.
+     * @return the stats, to be closed with {@link #end()} once the request is done
+     */
+    public static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void record(long nanos) {
+        RequestQueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.queries++;
+            stats.nanos += nanos;
+        }
+    }
+
+    /**
+     * Stops tracking the statements of the current thread.
+     */
+    public void end() {
+        CURRENT.remove();
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+}
@@ -0,0 +1,75 @@
+package com.gabriel.cleanarch.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.gabriel.cleanarch.application.outbox.OutboxEvent;
+import com.gabriel.cleanarch.application.outbox.OutboxSink;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends the relayed events to a newline-delimited JSON file ({@code app.tasks.outbox.sink=file}, the default).
+ * <p>
+ * Each batch is written with a single write and forced to disk on {@link #flush()}, before the events
+ * are removed from the outbox.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tasks.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    public FileOutboxSink(
+            ObjectMapper objectMapper,
+            @Value("${app.tasks.outbox.file.path:data/task-events.ndjson}") Path path
+    ) throws IOException {
+        this.objectMapper = objectMapper;
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void publish(OutboxEvent event) throws IOException {
+        ObjectNode line = objectMapper.createObjectNode()
+                .put("id", event.id())
+                .put("userId", event.userId())
+                .put("taskId", event.taskId())
+                .put("type", event.type())
+                .put("createdAt", event.createdAt().toString());
+        line.set("task", objectMapper.readTree(event.payload()));
+        objectMapper.writeValue(pending, line);
+        pending.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(pending.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            pending.reset();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
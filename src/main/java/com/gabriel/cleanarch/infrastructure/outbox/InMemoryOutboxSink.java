@@ -0,0 +1,45 @@
+package com.gabriel.cleanarch.infrastructure.outbox;
+
+import com.gabriel.cleanarch.application.outbox.OutboxEvent;
+import com.gabriel.cleanarch.application.outbox.OutboxSink;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Keeps the last relayed events in memory ({@code app.tasks.outbox.sink=memory}).
+ * Meant for tests and local development; nothing survives a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tasks.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final ArrayDeque<OutboxEvent> events = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(@Value("${app.tasks.outbox.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(OutboxEvent event) {
+        if (events.size() == capacity) {
+            events.removeFirst();
+        }
+        events.addLast(event);
+    }
+
+    /**
+     * Returns the retained events, oldest first.
+     */
+    public synchronized List<OutboxEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
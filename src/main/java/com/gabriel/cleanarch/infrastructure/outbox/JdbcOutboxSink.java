@@ -0,0 +1,80 @@
+package com.gabriel.cleanarch.infrastructure.outbox;
+
+import com.gabriel.cleanarch.application.outbox.OutboxEvent;
+import com.gabriel.cleanarch.application.outbox.OutboxSink;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts the relayed events into a table of another PostgreSQL database ({@code app.tasks.outbox.sink=jdbc}),
+ * with one batched INSERT per relay batch on {@link #flush()}.
+ * <p>
+ * The target table must have the columns {@code id} (primary key), {@code user_id}, {@code task_id} (nullable),
+ * {@code type}, {@code payload} (jsonb) and {@code created_at}. Redelivered events are ignored by their {@code id}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tasks.outbox.sink", havingValue = "jdbc")
+public class JdbcOutboxSink implements OutboxSink {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final String insert;
+    private final List<OutboxEvent> pending = new ArrayList<>();
+
+    public JdbcOutboxSink(
+            @Value("${app.tasks.outbox.jdbc.url}") String url,
+            @Value("${app.tasks.outbox.jdbc.username:}") String username,
+            @Value("${app.tasks.outbox.jdbc.password:}") String password,
+            @Value("${app.tasks.outbox.jdbc.table:task_events}") String table
+    ) {
+        if (!table.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new IllegalArgumentException("Nome de tabela inválido: " + table);
+        }
+        this.dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        this.dataSource.setPoolName("outbox-sink");
+        this.dataSource.setMaximumPoolSize(2);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.insert = "INSERT INTO " + table + " (id, user_id, task_id, type, payload, created_at) "
+                + "VALUES (?, ?, ?, ?, ?::jsonb, ?) ON CONFLICT (id) DO NOTHING";
+    }
+
+    @Override
+    public void publish(OutboxEvent event) {
+        pending.add(event);
+    }
+
+    @Override
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(insert, pending.stream()
+                    .map(e -> new Object[]{
+                            e.id(), e.userId(), e.taskId(), e.type(), e.payload(), Timestamp.valueOf(e.createdAt())
+                    })
+                    .toList());
+        } finally {
+            pending.clear();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,280 @@
+package com.gabriel.cleanarch.infrastructure.outbox;
+
+import com.gabriel.cleanarch.application.outbox.OutboxEvent;
+import com.gabriel.cleanarch.application.outbox.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves the events written to {@code task_outbox} (see migration V6) to the configured {@link OutboxSink}.
+ * <p>
+ * The outbox is split into partitions by user. Each node works through every partition, one batch at a time,
+ * holding a transaction-scoped advisory lock on it, so every partition is relayed by a single node at once and
+ * each user's events keep their order. Rows are read with {@code FOR UPDATE SKIP LOCKED} and deleted in the same
+ * transaction once the sink has flushed them, so delivery is at least once.
+ * <p>
+ * An event that fails is retried with exponential backoff, and the later events of its user wait for it. When the
+ * sink fails to flush, the batch is rolled back and all its events are rescheduled with backoff in a separate
+ * statement, so a batch the sink keeps rejecting does not hold the partition on every poll.
+ * Throughput, failures, batch duration and end-to-end delay are reported as {@code tasks.outbox.*} metrics.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.tasks.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements SmartLifecycle {
+
+    // Primeiro argumento de pg_try_advisory_xact_lock(int, int); o segundo é a partição
+    private static final int LOCK_CLASS = "task_outbox".hashCode();
+
+    private static final String SELECT_BATCH = """
+            SELECT o.id, o.user_id, o.task_id, o.type, o.payload::text AS payload, o.created_at
+            FROM task_outbox o
+            WHERE mod(o.user_id, ?) = ?
+              AND o.next_attempt_at <= now()
+              AND NOT EXISTS (
+                  SELECT 1 FROM task_outbox b
+                  WHERE b.user_id = o.user_id AND b.id < o.id AND b.next_attempt_at > now()
+              )
+            ORDER BY o.id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""";
+    private static final String DELETE_PUBLISHED =
+            "DELETE FROM task_outbox WHERE id = ANY(?)";
+    // Backoff de cada evento pelas suas próprias tentativas: initial-backoff * 2^attempts, limitado a max-backoff
+    private static final String RESCHEDULE_FAILED = """
+            UPDATE task_outbox
+            SET attempts = attempts + 1,
+                next_attempt_at = now() + make_interval(secs => least(?, ? * power(2, least(attempts, 20)))),
+                last_error = ?
+            WHERE id = ANY(?)""";
+
+    private static final RowMapper<OutboxEvent> OUTBOX_EVENT = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getObject("task_id", Long.class),
+            rs.getString("type"),
+            rs.getString("payload"),
+            rs.getObject("created_at", LocalDateTime.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final int partitions;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final Counter published;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final Timer delay;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public OutboxRelay(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            OutboxSink sink,
+            MeterRegistry meterRegistry,
+            @Value("${app.tasks.outbox.partitions:4}") int partitions,
+            @Value("${app.tasks.outbox.batch-size:500}") int batchSize,
+            @Value("${app.tasks.outbox.poll-interval:500ms}") Duration pollInterval,
+            @Value("${app.tasks.outbox.initial-backoff:1s}") Duration initialBackoff,
+            @Value("${app.tasks.outbox.max-backoff:5m}") Duration maxBackoff
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.partitions = partitions;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+
+        this.published = Counter.builder("tasks.outbox.published")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.failed = Counter.builder("tasks.outbox.failed")
+                .description("Outbox events whose delivery failed and was rescheduled")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("tasks.outbox.batch")
+                .description("Time to relay one batch of outbox events")
+                .register(meterRegistry);
+        this.delay = Timer.builder("tasks.outbox.delay")
+                .description("Time from a task change to its delivery to the sink")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts relaying once the context is refreshed, so polling does not compete with the startup of the node.
+     */
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+                this::relayAll,
+                pollInterval.toMillis(),
+                pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * Stops polling and waits for the batch in progress, so no delivery is cut off in the middle of a flush.
+     */
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = scheduler;
+        scheduler = null;
+        current.shutdown();
+        try {
+            current.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    void relayAll() {
+        for (int partition = 0; partition < partitions; partition++) {
+            int current = partition;
+            try {
+                boolean full;
+                do {
+                    // Continua na mesma partição enquanto os lotes vierem cheios
+                    full = Boolean.TRUE.equals(batchTimer.record(() -> relayBatch(current)));
+                } while (full && scheduler != null);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao processar a partição {} do outbox", partition, e);
+            }
+        }
+    }
+
+    /**
+     * Relays one batch of a partition in a single transaction.
+     *
+     * @return {@code true} if the batch was full, so more events are probably waiting
+     */
+    private boolean relayBatch(int partition) {
+        Boolean full;
+        try {
+            full = transactionTemplate.execute(status -> relayBatchInTransaction(partition));
+        } catch (FlushFailedException e) {
+            // O rollback desfez também os reagendamentos do lote: todos os eventos enviados ao sink voltam
+            // para o outbox com backoff, para o lote não ser repetido a cada poll-interval
+            log.warn("Falha ao confirmar lote de {} eventos do outbox no sink", e.eventIds.size(), e.getCause());
+            reschedule(e.eventIds, e.getCause());
+            return false;
+        }
+        return Boolean.TRUE.equals(full);
+    }
+
+    private boolean relayBatchInTransaction(int partition) {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?, ?)", Boolean.class, LOCK_CLASS, partition);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+
+        List<OutboxEvent> batch = jdbcTemplate.query(SELECT_BATCH, OUTBOX_EVENT, partitions, partition, batchSize);
+        List<Long> delivered = new ArrayList<>();
+        List<OutboxEvent> deliveredEvents = new ArrayList<>();
+        List<Long> rejected = new ArrayList<>();
+        Set<Long> heldUsers = new HashSet<>();
+
+        for (OutboxEvent event : batch) {
+            if (heldUsers.contains(event.userId())) {
+                continue;
+            }
+            try {
+                sink.publish(event);
+                delivered.add(event.id());
+                deliveredEvents.add(event);
+            } catch (Exception e) {
+                heldUsers.add(event.userId());
+                rejected.add(event.id());
+                reschedule(List.of(event.id()), e);
+            }
+        }
+
+        try {
+            sink.flush();
+        } catch (Exception e) {
+            List<Long> attempted = new ArrayList<>(delivered);
+            attempted.addAll(rejected);
+            throw new FlushFailedException(attempted, e);
+        }
+
+        if (!delivered.isEmpty()) {
+            jdbcTemplate.update(DELETE_PUBLISHED, ps -> ps.setArray(1, bigintArray(ps.getConnection(), delivered)));
+        }
+        published.increment(delivered.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : deliveredEvents) {
+            delay.record(Duration.between(event.createdAt(), now));
+        }
+        return batch.size() == batchSize;
+    }
+
+    private void reschedule(List<Long> eventIds, Throwable error) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update(RESCHEDULE_FAILED, ps -> {
+            ps.setDouble(1, maxBackoff.toMillis() / 1000.0);
+            ps.setDouble(2, initialBackoff.toMillis() / 1000.0);
+            ps.setString(3, String.valueOf(error));
+            ps.setArray(4, bigintArray(ps.getConnection(), eventIds));
+        });
+        failed.increment(eventIds.size());
+    }
+
+    private static Array bigintArray(Connection connection, List<Long> ids) throws SQLException {
+        return connection.createArrayOf("bigint", ids.toArray());
+    }
+
+    /**
+     * Thrown out of the batch transaction to roll it back when the sink fails to flush.
+     */
+    private static final class FlushFailedException extends RuntimeException {
+
+        private final List<Long> eventIds;
+
+        private FlushFailedException(List<Long> eventIds, Exception cause) {
+            super(cause);
+            this.eventIds = eventIds;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import com.gabriel.cleanarch.domain.user.RefreshTokenRepository;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.User;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link RefreshTokenRepository}, on the {@code refresh_tokens} table (see migration V7).
+ */
+@Repository
+@Observed(name = "app.repository")
+@RequiredArgsConstructor
+public class JdbcRefreshTokenRepository implements RefreshTokenRepository {
+
+    private static final String INSERT =
+            "INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at) "
+                    + "VALUES (?, ?, ?, now() + make_interval(secs => ?))";
+
+    // Busca pelo índice único do hash, marca o token como usado e emite o próximo numa só ida ao banco
+    private static final String ROTATE = """
+            WITH used AS (
+                UPDATE refresh_tokens
+                SET used_at = now()
+                WHERE token_hash = ? AND used_at IS NULL AND expires_at > now()
+                RETURNING family_id, user_id
+            ), issued AS (
+                INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at)
+                SELECT ?, family_id, user_id, now() + make_interval(secs => ?) FROM used
+            )
+            SELECT u.id, u.email, u.role
+            FROM used
+            JOIN users u ON u.id = used.user_id""";
+
+    private static final String DELETE_FAMILY =
+            "DELETE FROM refresh_tokens WHERE family_id = (SELECT family_id FROM refresh_tokens WHERE token_hash = ?)";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM refresh_tokens WHERE expires_at <= now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(byte[] tokenHash, UUID familyId, Long userId, Duration ttl) {
+        jdbcTemplate.update(INSERT, tokenHash, familyId, userId, ttl.toSeconds());
+    }
+
+    @Override
+    public Optional<User> rotate(byte[] tokenHash, byte[] nextTokenHash, Duration ttl) {
+        return jdbcTemplate.query(ROTATE, (rs, rowNum) -> User.builder()
+                        .id(rs.getLong("id"))
+                        .email(rs.getString("email"))
+                        .role(Role.valueOf(rs.getString("role")))
+                        .build(),
+                tokenHash, nextTokenHash, ttl.toSeconds()
+        ).stream().findFirst();
+    }
+
+    @Override
+    public int deleteFamily(byte[] tokenHash) {
+        return jdbcTemplate.update(DELETE_FAMILY, (Object) tokenHash);
+    }
+
+    @Override
+    public int deleteExpired() {
+        return jdbcTemplate.update(DELETE_EXPIRED);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import com.gabriel.cleanarch.domain.user.RevokedTokenRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * JDBC implementation of {@link RevokedTokenRepository}, on the {@code revoked_tokens} table (see migration V7).
+ */
+@Repository
+@Observed(name = "app.repository")
+@RequiredArgsConstructor
+public class JdbcRevokedTokenRepository implements RevokedTokenRepository {
+
+    private static final String INSERT =
+            "INSERT INTO revoked_tokens (jti, expires_at) VALUES (?, ?) ON CONFLICT (jti) DO NOTHING";
+    private static final String SELECT_REVOKED_AFTER =
+            "SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at > ? AND expires_at > now()";
+    private static final String DELETE_EXPIRED =
+            "DELETE FROM revoked_tokens WHERE expires_at <= now()";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(UUID jti, Instant expiresAt) {
+        jdbcTemplate.update(INSERT, jti, Timestamp.from(expiresAt));
+    }
+
+    @Override
+    public List<RevokedToken> findRevokedAfter(Instant since) {
+        return jdbcTemplate.query(SELECT_REVOKED_AFTER, (rs, rowNum) -> new RevokedToken(
+                rs.getObject("jti", UUID.class),
+                rs.getTimestamp("expires_at").toInstant()
+        ), Timestamp.from(since));
+    }
+
+    @Override
+    public int deleteExpired() {
+        return jdbcTemplate.update(DELETE_EXPIRED);
+    }
+}
@@ -0,0 +1,40 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import com.gabriel.cleanarch.domain.task.TaskBatchRepository;
+import com.gabriel.cleanarch.domain.task.TaskUpdate;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link TaskBatchRepository}.
+ */
+@Repository
+@Observed(name = "app.repository")
+@RequiredArgsConstructor
+public class JdbcTaskBatchRepository implements TaskBatchRepository {
+
+    private static final String UPDATE_OWNED =
+            "UPDATE tasks SET title = ?, description = ?, done = ?, version = version + 1 WHERE id = ? AND user_id = ?";
+    private static final String DELETE_OWNED =
+            "DELETE FROM tasks WHERE id = ? AND user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] batchUpdateOwned(Long ownerId, List<TaskUpdate> updates) {
+        return jdbcTemplate.batchUpdate(UPDATE_OWNED, updates.stream()
+                .map(u -> new Object[]{u.title(), u.description(), u.done(), u.id(), ownerId})
+                .toList());
+    }
+
+    @Override
+    public int[] batchDeleteOwned(Long ownerId, List<Long> ids) {
+        return jdbcTemplate.batchUpdate(DELETE_OWNED, ids.stream()
+                .map(id -> new Object[]{id, ownerId})
+                .toList());
+    }
+}
@@ -0,0 +1,94 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import com.gabriel.cleanarch.domain.task.Task;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.task.TaskHistory;
+import com.gabriel.cleanarch.domain.task.TaskSearchRepository;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API implementation of {@link TaskSearchRepository}.
+ * <p>
+ * Text search goes through the {@value TaskFunctionContributor#TEXT_MATCH} function, which uses the
+ * PostgreSQL full-text index, or a {@code LIKE} on other databases. Listings that include archived tasks run the same query on {@link TaskHistory}.
+ */
+@Repository
+@Observed(name = "app.repository")
+public class JpaTaskSearchRepository implements TaskSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskView> findPage(
+            Long ownerId,
+            TaskFilter filter,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskView> query = cb.createQuery(TaskView.class);
+        Class<?> entity = filter.includeArchived() ? TaskHistory.class : Task.class;
+        Root<?> task = query.from(entity);
+
+        Path<Long> id = task.get("id");
+        Path<LocalDateTime> createdAt = task.get("createdAt");
+
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(task.get("owner").get("id"), ownerId));
+
+        if (filter.done() != null) {
+            where.add(cb.equal(task.get("done"), filter.done()));
+        }
+        if (filter.createdFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(createdAt, filter.createdFrom()));
+        }
+        if (filter.createdTo() != null) {
+            where.add(cb.lessThan(createdAt, filter.createdTo()));
+        }
+        if (filter.text() != null && !filter.text().isBlank()) {
+            where.add(cb.isTrue(cb.function(
+                    TaskFunctionContributor.TEXT_MATCH,
+                    Boolean.class,
+                    task.get("title"),
+                    task.get("description"),
+                    cb.literal(filter.text())
+            )));
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            where.add(filter.descending()
+                    ? cb.or(cb.lessThan(createdAt, afterCreatedAt),
+                            cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId)))
+                    : cb.or(cb.greaterThan(createdAt, afterCreatedAt),
+                            cb.and(cb.equal(createdAt, afterCreatedAt), cb.greaterThan(id, afterId))));
+        }
+
+        query.select(cb.construct(
+                        TaskView.class,
+                        id,
+                        task.get("title"),
+                        task.get("description"),
+                        task.get("done"),
+                        createdAt,
+                        task.get("version")
+                ))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(filter.descending()
+                        ? List.of(cb.desc(createdAt), cb.desc(id))
+                        : List.of(cb.asc(createdAt), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
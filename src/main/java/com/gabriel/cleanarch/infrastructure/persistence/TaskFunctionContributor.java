@@ -0,0 +1,40 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the SQL functions used by task queries. Loaded by Hibernate through
+ * {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class TaskFunctionContributor implements FunctionContributor {
+
+    /**
+     * {@code task_text_match(title, description, text)}: whether the task's title or description match the text.
+     */
+    public static final String TEXT_MATCH = "task_text_match";
+
+    // Mesma expressão do índice GIN idx_tasks_search (V3), para o PostgreSQL usar o índice
+    private static final String POSTGRES_TEXT_MATCH =
+            "(to_tsvector('simple', coalesce(?1, '') || ' ' || coalesce(?2, '')) @@ plainto_tsquery('simple', ?3))";
+
+    // Fallback para bancos sem full-text (ex.: H2 nos testes): busca o texto inteiro, sem índice
+    private static final String LIKE_TEXT_MATCH =
+            "(lower(coalesce(?1, '') || ' ' || coalesce(?2, '')) like lower('%' || ?3 || '%'))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        BasicType<Boolean> booleanType = functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.BOOLEAN);
+
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? POSTGRES_TEXT_MATCH
+                : LIKE_TEXT_MATCH;
+
+        functionContributions.getFunctionRegistry().registerPattern(TEXT_MATCH, pattern, booleanType);
+    }
+}
@@ -0,0 +1,165 @@
+package com.gabriel.cleanarch.infrastructure.persistence.r2dbc;
+
+import com.gabriel.cleanarch.domain.task.ReactiveTaskRepository;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * R2DBC PostgreSQL implementation of {@link ReactiveTaskRepository}.
+ * <p>
+ * Uses the same table, sequence and indexes as the JPA mapping of
+ * {@link com.gabriel.cleanarch.domain.task.Task}, so both deployments can share a database.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class R2dbcTaskRepository implements ReactiveTaskRepository {
+
+    private static final String COLUMNS = "id, title, description, done, created_at, version";
+
+    // Mesma expressão do índice GIN idx_tasks_search (V3)
+    private static final String TEXT_MATCH =
+            "to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')) "
+                    + "@@ plainto_tsquery('simple', :text)";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<TaskView> findPage(
+            Long ownerId,
+            TaskFilter filter,
+            LocalDateTime afterCreatedAt,
+            Long afterId,
+            int limit
+    ) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM "
+                + (filter.includeArchived() ? "task_history" : "tasks") + " WHERE user_id = :ownerId");
+        params.put("ownerId", ownerId);
+
+        if (filter.done() != null) {
+            sql.append(" AND done = :done");
+            params.put("done", filter.done());
+        }
+        if (filter.createdFrom() != null) {
+            sql.append(" AND created_at >= :createdFrom");
+            params.put("createdFrom", filter.createdFrom());
+        }
+        if (filter.createdTo() != null) {
+            sql.append(" AND created_at < :createdTo");
+            params.put("createdTo", filter.createdTo());
+        }
+        if (filter.text() != null && !filter.text().isBlank()) {
+            sql.append(" AND ").append(TEXT_MATCH);
+            params.put("text", filter.text());
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            sql.append(filter.descending()
+                    ? " AND (created_at, id) < (:afterCreatedAt, :afterId)"
+                    : " AND (created_at, id) > (:afterCreatedAt, :afterId)");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+
+        sql.append(filter.descending()
+                ? " ORDER BY created_at DESC, id DESC"
+                : " ORDER BY created_at, id");
+        sql.append(" LIMIT :limit");
+        params.put("limit", limit);
+
+        return databaseClient.sql(sql.toString())
+                .bindValues(params)
+                .map(R2dbcTaskRepository::toView)
+                .all();
+    }
+
+    @Override
+    public Mono<TaskView> findByIdAndOwnerId(Long id, Long ownerId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM tasks WHERE id = :id AND user_id = :ownerId")
+                .bind("id", id)
+                .bind("ownerId", ownerId)
+                .map(R2dbcTaskRepository::toView)
+                .one();
+    }
+
+    // O ID vem da mesma sequence do JPA; cada nextval é o topo de um bloco de 50 IDs
+    // que nenhum outro nó usa, então usar o próprio valor é seguro.
+    @Override
+    public Mono<TaskView> insert(Long ownerId, String title, String description, LocalDateTime createdAt) {
+        return bindNullable(databaseClient.sql("""
+                        INSERT INTO tasks (id, title, description, done, created_at, user_id, version)
+                        VALUES (nextval('tasks_seq'), :title, :description, false, :createdAt, :ownerId, 0)
+                        RETURNING\s""" + COLUMNS), "description", description, String.class)
+                .bind("title", title)
+                .bind("createdAt", createdAt)
+                .bind("ownerId", ownerId)
+                .map(R2dbcTaskRepository::toView)
+                .one();
+    }
+
+    @Override
+    public Mono<Long> updateOwned(
+            Long id,
+            Long ownerId,
+            Long version,
+            String title,
+            String description,
+            boolean done
+    ) {
+        String sql = """
+                UPDATE tasks
+                SET title = :title, description = :description, done = :done, version = version + 1
+                WHERE id = :id AND user_id = :ownerId""";
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(version == null ? sql : sql + " AND version = :version")
+                .bind("title", title)
+                .bind("done", done)
+                .bind("id", id)
+                .bind("ownerId", ownerId);
+        if (version != null) {
+            spec = spec.bind("version", version);
+        }
+        return bindNullable(spec, "description", description, String.class)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Mono<Long> deleteOwned(Long id, Long ownerId) {
+        return databaseClient.sql("DELETE FROM tasks WHERE id = :id AND user_id = :ownerId")
+                .bind("id", id)
+                .bind("ownerId", ownerId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec spec,
+            String name,
+            Object value,
+            Class<?> type
+    ) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static TaskView toView(Readable row) {
+        return new TaskView(
+                row.get("id", Long.class),
+                row.get("title", String.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("done", Boolean.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.gabriel.cleanarch.infrastructure.persistence.r2dbc;
+
+import com.gabriel.cleanarch.domain.user.ReactiveUserRepository;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
+import com.gabriel.cleanarch.domain.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC PostgreSQL implementation of {@link ReactiveUserRepository}.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class R2dbcUserRepository implements ReactiveUserRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<User> findByEmail(String email) {
+        return databaseClient.sql("SELECT id, email, password, role FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> User.builder()
+                        .id(row.get("id", Long.class))
+                        .email(row.get("email", String.class))
+                        .password(row.get("password", String.class))
+                        .role(Role.valueOf(row.get("role", String.class)))
+                        .build())
+                .one();
+    }
+
+    @Override
+    public Mono<TaskListVersion> findTaskListVersion(Long id) {
+        return databaseClient.sql("SELECT task_version, tasks_modified_at FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> new TaskListVersion(
+                        row.get("task_version", Long.class),
+                        row.get("tasks_modified_at", LocalDateTime.class)
+                ))
+                .one();
+    }
+}
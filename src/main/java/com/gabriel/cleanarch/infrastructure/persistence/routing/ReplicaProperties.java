@@ -0,0 +1,51 @@
+package com.gabriel.cleanarch.infrastructure.persistence.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replica settings ({@code app.datasource.*}).
+ *
+ * @param replicas the PostgreSQL replicas that serve read-only transactions
+ * @param healthCheckInterval how often the availability and lag of each replica are checked
+ * @param maxLag replicas further behind the primary than this stop receiving reads until they catch up
+ * @param readYourWritesWindow how long a user's reads stay on the primary after one of their writes; at least
+ *                             {@code maxLag}, otherwise a user could be sent back to a replica that has not
+ *                             replayed their write yet
+ */
+@ConfigurationProperties("app.datasource")
+public record ReplicaProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration healthCheckInterval,
+        @DefaultValue("10s") Duration maxLag,
+        @DefaultValue("15s") Duration readYourWritesWindow
+) {
+
+    public ReplicaProperties {
+        if (readYourWritesWindow.compareTo(maxLag) < 0) {
+            throw new IllegalArgumentException("app.datasource.read-your-writes-window (" + readYourWritesWindow
+                    + ") deve ser maior ou igual a app.datasource.max-lag (" + maxLag + ")");
+        }
+    }
+
+    /**
+     * A replica and the size of its connection pool.
+     *
+     * @param url the JDBC URL of the replica
+     * @param username the user, or empty to use {@code spring.datasource.username}
+     * @param password the password, or empty to use {@code spring.datasource.password}
+     * @param maximumPoolSize the maximum number of connections to the replica
+     * @param connectionTimeout how long a read waits for a connection before falling back to another database
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize,
+            @DefaultValue("2s") Duration connectionTimeout
+    ) {
+    }
+}
@@ -0,0 +1,307 @@
+package com.gabriel.cleanarch.infrastructure.persistence.routing;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the connections of read-only transactions to the PostgreSQL read replicas, and everything else
+ * to the primary.
+ * <p>
+ * Replicas are picked round-robin among the healthy ones: a background check marks a replica down when it
+ * cannot be reached or lags more than {@code app.datasource.max-lag} behind the primary, and a replica that
+ * fails to hand out a connection is skipped until the next check. When no replica is available, reads go to
+ * the primary. All reads of an HTTP request go to the database that served its first one, as long as it stays
+ * available. After a user's transaction commits, their own reads stay on the primary for
+ * {@code app.datasource.read-your-writes-window}, so they never read data older than their last write.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas[0].url")
+public class ReplicaRouter implements SmartLifecycle {
+
+    /** Seconds since the last replayed transaction, or 0 when everything received has been replayed. */
+    private static final String REPLICATION_LAG = """
+            SELECT CASE
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END
+            """;
+
+    /**
+     * Request attribute holding the database that served the request's first read, so that all its reads
+     * (e.g. the list version and then the page cached under that version) come from the same database.
+     */
+    private static final String READ_TARGET = ReplicaRouter.class.getName() + ".READ_TARGET";
+    private static final Object PRIMARY = new Object();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration healthCheckInterval;
+    private final double maxLagSeconds;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    private volatile ScheduledExecutorService scheduler;
+
+    public ReplicaRouter(
+            ReplicaProperties properties,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            MeterRegistry meterRegistry
+    ) {
+        this.healthCheckInterval = properties.healthCheckInterval();
+        this.maxLagSeconds = properties.maxLag().toMillis() / 1000.0;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(properties.readYourWritesWindow())
+                .build();
+
+        for (ReplicaProperties.Replica config : properties.replicas()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(config.url())
+                    .username(StringUtils.hasText(config.username()) ? config.username() : username)
+                    .password(StringUtils.hasText(config.password()) ? config.password() : password)
+                    .build();
+            dataSource.setPoolName("replica-" + replicas.size());
+            dataSource.setMaximumPoolSize(config.maximumPoolSize());
+            dataSource.setConnectionTimeout(config.connectionTimeout().toMillis());
+            dataSource.setReadOnly(true);
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            Replica replica = new Replica(dataSource);
+            replicas.add(replica);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag of the read replica, as of its last health check")
+                    .baseUnit("seconds")
+                    .tag("replica", dataSource.getPoolName())
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("db.replicas.healthy", replicas, list -> list.stream().filter(r -> r.healthy).count())
+                .description("Read replicas currently receiving reads")
+                .register(meterRegistry);
+        this.replicaReads = Counter.builder("db.reads")
+                .description("Read-only connections by the database they were routed to")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.primaryReads = Counter.builder("db.reads")
+                .description("Read-only connections by the database they were routed to")
+                .tag("target", "primary")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the health checks once every bean exists, since recording the pool metrics may look up beans.
+     */
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Réplicas só recebem leituras depois da primeira verificação
+        scheduler.scheduleWithFixedDelay(
+                this::checkReplicas,
+                0,
+                healthCheckInterval.toMillis(),
+                TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdown();
+        scheduler = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * Wraps the primary {@link DataSource}: connections are only acquired at the first statement, once the
+     * transaction's read-only flag is known, from a replica for read-only transactions and from the primary
+     * otherwise.
+     * @param primary the application's DataSource
+     * @return the routing DataSource
+     */
+    public DataSource route(DataSource primary) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(new RoutedDataSource(primary, false));
+        proxy.setReadOnlyDataSource(new RoutedDataSource(primary, true));
+        return proxy;
+    }
+
+    private Connection readConnection(DataSource primary) throws SQLException {
+        String user = currentUser();
+        if (user == null || recentWriters.getIfPresent(user) == null) {
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            Object pinned = request != null ? request.getAttribute(READ_TARGET, RequestAttributes.SCOPE_REQUEST) : null;
+            if (pinned == null) {
+                int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+                for (int i = 0; i < replicas.size(); i++) {
+                    Replica replica = replicas.get((start + i) % replicas.size());
+                    Connection connection = replica.healthy ? connect(replica) : null;
+                    if (connection != null) {
+                        pin(request, replica);
+                        return connection;
+                    }
+                }
+            } else if (pinned instanceof Replica replica && replica.healthy) {
+                Connection connection = connect(replica);
+                if (connection != null) {
+                    return connection;
+                }
+            }
+            // O primário está à frente de qualquer réplica: o resto da requisição não volta a ler dados mais antigos
+            pin(request, PRIMARY);
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private Connection connect(Replica replica) {
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            replicaReads.increment();
+            return connection;
+        } catch (SQLException e) {
+            replica.healthy = false;
+            log.warn("Réplica {} indisponível, leituras seguem para outro banco: {}",
+                    replica.dataSource.getPoolName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static void pin(RequestAttributes request, Object target) {
+        if (request != null) {
+            request.setAttribute(READ_TARGET, target, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private Connection writeConnection(DataSource primary) throws SQLException {
+        Connection connection = primary.getConnection();
+        String user = currentUser();
+        if (user != null) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        recentWriters.put(user, Boolean.TRUE);
+                    }
+                });
+            } else {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        }
+        return connection;
+    }
+
+    private void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(REPLICATION_LAG)) {
+                rs.next();
+                replica.lagSeconds = rs.getDouble(1);
+                healthy = replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException e) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                log.info("Réplica {} {} (lag {}s)", replica.dataSource.getPoolName(),
+                        healthy ? "disponível para leituras" : "fora do roteamento", replica.lagSeconds);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean healthy;
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    /**
+     * The target of the lazy proxy for one kind of transaction.
+     */
+    private final class RoutedDataSource extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final boolean readOnly;
+
+        private RoutedDataSource(DataSource primary, boolean readOnly) {
+            this.primary = primary;
+            this.readOnly = readOnly;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readOnly ? readConnection(primary) : writeConnection(primary);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Credenciais são definidas por banco em app.datasource");
+        }
+    }
+}
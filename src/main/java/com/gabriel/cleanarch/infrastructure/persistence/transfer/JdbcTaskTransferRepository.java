@@ -0,0 +1,229 @@
+package com.gabriel.cleanarch.infrastructure.persistence.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gabriel.cleanarch.domain.task.TaskTransferFormat;
+import com.gabriel.cleanarch.domain.task.TaskTransferRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC implementation of {@link TaskTransferRepository}, streaming the files through {@code COPY} on PostgreSQL.
+ * <p>
+ * CSV files are handed to {@code COPY ... FROM STDIN} as they are read, after only the header is checked;
+ * NDJSON lines are converted to CSV in chunks. Exports are written by {@code COPY ... TO STDOUT} straight to the
+ * output, archived tasks included. Task IDs come from {@code tasks_seq}, the column default. During an import the transaction sets
+ * {@code app.bulk_import}, so the triggers write one {@code IMPORTED} outbox event per user instead of one per task,
+ * and publish the task events without IDs. Other databases go through {@link PortableTaskTransfer}, with multi-row
+ * {@code INSERT}s.
+ */
+@Repository
+@Observed(name = "app.repository")
+public class JdbcTaskTransferRepository implements TaskTransferRepository {
+
+    // Colunas aceitas no cabeçalho do CSV; o ID nunca vem do arquivo
+    private static final Set<String> IMPORT_COLUMNS = Set.of("user_id", "title", "description", "done", "created_at");
+    private static final int MAX_HEADER_LENGTH = 1024;
+    private static final int COPY_CHUNK_SIZE = 64 * 1024;
+
+    private static final String COPY_IN_ROWS =
+            "COPY tasks (user_id, title, description, done, created_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String EXPORT_COLUMNS =
+            "SELECT user_id, title, description, done::text AS done, created_at FROM task_history";
+    private static final String EXPORT_JSON_COLUMNS =
+            "SELECT user_id AS \"userId\", title, description, done, created_at AS \"createdAt\" FROM task_history";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectReader rowReader;
+    private final PortableTaskTransfer portable;
+
+    public JdbcTaskTransferRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowReader = objectMapper.readerFor(TaskRow.class);
+        // Datas em ISO 8601, como o row_to_json do COPY, qualquer que seja a configuração do ObjectMapper
+        this.portable = new PortableTaskTransfer(rowReader, objectMapper.writerFor(TaskRow.class)
+                .without(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    @Override
+    public long importTasks(TaskTransferFormat format, InputStream in) throws IOException {
+        return withConnection(connection -> {
+            if (!connection.isWrapperFor(PGConnection.class)) {
+                return portable.importTasks(connection, format, in);
+            }
+            try (Statement statement = connection.createStatement()) {
+                // Local à transação: volta a off no commit ou rollback
+                statement.execute("SELECT set_config('app.bulk_import', 'on', true)");
+            }
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return switch (format) {
+                case CSV -> copyCsvIn(copyManager, in);
+                case NDJSON -> copyNdjsonIn(copyManager, in);
+            };
+        });
+    }
+
+    @Override
+    public long exportTasks(TaskTransferFormat format, Long ownerId, OutputStream out) throws IOException {
+        // COPY não aceita parâmetros; o ID é um Long, nunca texto do usuário
+        String filter = ownerId == null ? "" : " WHERE user_id = " + ownerId + " ORDER BY created_at, id";
+        String sql = switch (format) {
+            case CSV -> "COPY (" + EXPORT_COLUMNS + filter + ") TO STDOUT WITH (FORMAT csv, HEADER)";
+            // Um JSON por linha, sem escapes: o row_to_json escapa os caracteres de controle usados como aspas
+            // e delimitador, que nunca aparecem na saída
+            case NDJSON -> "COPY (SELECT row_to_json(t) FROM (" + EXPORT_JSON_COLUMNS + filter + ") t)"
+                    + " TO STDOUT WITH (FORMAT csv, QUOTE E'\\x01', DELIMITER E'\\x02')";
+        };
+        return withConnection(connection -> connection.isWrapperFor(PGConnection.class)
+                ? connection.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, out)
+                : portable.exportTasks(connection, format, ownerId, out));
+    }
+
+    private long copyCsvIn(CopyManager copyManager, InputStream in) throws SQLException, IOException {
+        List<String> columns = readHeader(in);
+        // Campo vazio em user_id ou title vira texto vazio, e não NULL, que as colunas aceitam: o user_id vazio
+        // é rejeitado como número inválido
+        return copyManager.copyIn("COPY tasks (" + String.join(", ", columns) + ") FROM STDIN"
+                + " WITH (FORMAT csv, FORCE_NOT_NULL (user_id, title))", in, COPY_CHUNK_SIZE);
+    }
+
+    /**
+     * Reads the header line byte by byte, leaving the stream at the first row for {@code COPY}.
+     */
+    static List<String> readHeader(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (line.size() == MAX_HEADER_LENGTH) {
+                throw new IllegalArgumentException("cabeçalho maior que " + MAX_HEADER_LENGTH + " bytes");
+            }
+            line.write(b);
+        }
+        String header = line.toString(StandardCharsets.UTF_8).strip();
+        // BOM de arquivos salvos por planilhas
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        if (header.isEmpty()) {
+            throw new IllegalArgumentException("cabeçalho ausente");
+        }
+
+        List<String> columns = new ArrayList<>();
+        for (String column : header.split(",", -1)) {
+            String name = column.strip().toLowerCase();
+            if (!IMPORT_COLUMNS.contains(name)) {
+                throw new IllegalArgumentException("coluna desconhecida '" + column.strip() + "' (aceitas: "
+                        + String.join(", ", IMPORT_COLUMNS.stream().sorted().toList()) + ")");
+            }
+            if (columns.contains(name)) {
+                throw new IllegalArgumentException("coluna repetida '" + name + "'");
+            }
+            columns.add(name);
+        }
+        if (!columns.contains("user_id") || !columns.contains("title")) {
+            throw new IllegalArgumentException("as colunas user_id e title são obrigatórias");
+        }
+        return columns;
+    }
+
+    private long copyNdjsonIn(CopyManager copyManager, InputStream in) throws SQLException, IOException {
+        LocalDateTime importedAt = LocalDateTime.now();
+        CopyIn copyIn = copyManager.copyIn(COPY_IN_ROWS);
+        try {
+            StringBuilder chunk = new StringBuilder(COPY_CHUNK_SIZE + 1024);
+            long line = 0;
+            try (MappingIterator<TaskRow> rows = rowReader.readValues(in)) {
+                while (rows.hasNextValue()) {
+                    line++;
+                    TaskRow row = rows.nextValue();
+                    if (row.userId() == null || row.title() == null) {
+                        throw new IllegalArgumentException("linha " + line + ": userId e title são obrigatórios");
+                    }
+                    chunk.append(row.userId()).append(',');
+                    appendQuoted(chunk, row.title()).append(',');
+                    if (row.description() != null) {
+                        appendQuoted(chunk, row.description());
+                    }
+                    chunk.append(',')
+                            .append(row.done() != null && row.done()).append(',')
+                            .append(row.createdAt() != null ? row.createdAt() : importedAt).append('\n');
+                    if (chunk.length() >= COPY_CHUNK_SIZE) {
+                        writeToCopy(copyIn, chunk);
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("linha " + (line + 1) + ": JSON inválido ("
+                        + e.getOriginalMessage() + ")", e);
+            }
+            writeToCopy(copyIn, chunk);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static StringBuilder appendQuoted(StringBuilder csv, String value) {
+        // Sempre entre aspas: um texto vazio continua vazio, em vez de virar NULL
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static void writeToCopy(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    /**
+     * Runs the transfer on the connection of the current transaction; I/O errors of the file, such as a client
+     * disconnecting mid-upload, are rethrown as they are.
+     */
+    private long withConnection(TransferCallback callback) throws IOException {
+        try {
+            Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return callback.transfer(connection);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface TransferCallback {
+        long transfer(Connection connection) throws SQLException, IOException;
+    }
+
+    /**
+     * A line of an NDJSON file.
+     */
+    record TaskRow(Long userId, String title, String description, Boolean done, LocalDateTime createdAt) {
+    }
+}
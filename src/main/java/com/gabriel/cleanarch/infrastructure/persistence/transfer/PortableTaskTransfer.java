@@ -0,0 +1,275 @@
+package com.gabriel.cleanarch.infrastructure.persistence.transfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.gabriel.cleanarch.domain.task.TaskTransferFormat;
+import com.gabriel.cleanarch.infrastructure.persistence.transfer.JdbcTaskTransferRepository.TaskRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Imports and exports tasks on databases without {@code COPY}, such as H2.
+ * <p>
+ * Rows are read in Java and inserted with multi-row {@code INSERT} statements of {@value #ROWS_PER_INSERT} rows,
+ * so a file costs one round trip per chunk instead of one per task; exports are read with a plain query. The
+ * files and their validation are the same as with {@code COPY}: CSV fields are read as {@code COPY} reads them,
+ * an empty unquoted field being {@code NULL}.
+ */
+final class PortableTaskTransfer {
+
+    private static final int ROWS_PER_INSERT = 500;
+    private static final List<String> NDJSON_COLUMNS = List.of("user_id", "title", "description", "done", "created_at");
+    private static final Set<String> TRUE_VALUES = Set.of("t", "true", "y", "yes", "on", "1");
+    private static final Set<String> FALSE_VALUES = Set.of("f", "false", "n", "no", "off", "0");
+
+    // Como o PostgreSQL escreve um timestamp: sempre com segundos, e a fração sem zeros à direita
+    private static final DateTimeFormatter CSV_TIMESTAMP = new DateTimeFormatterBuilder()
+            .appendPattern("uuuu-MM-dd HH:mm:ss")
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 6, true)
+            .toFormatter();
+
+    private static final String EXPORT_ROWS =
+            "SELECT user_id, title, description, done, created_at FROM task_history";
+
+    private final ObjectReader csvReader = new CsvMapper()
+            .readerForListOf(String.class)
+            .with(CsvParser.Feature.WRAP_AS_ARRAY)
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES)
+            .with(CsvParser.Feature.EMPTY_UNQUOTED_STRING_AS_NULL);
+
+    private final ObjectReader rowReader;
+    private final ObjectWriter rowWriter;
+
+    PortableTaskTransfer(ObjectReader rowReader, ObjectWriter rowWriter) {
+        this.rowReader = rowReader;
+        this.rowWriter = rowWriter;
+    }
+
+    long importTasks(Connection connection, TaskTransferFormat format, InputStream in)
+            throws SQLException, IOException {
+        return switch (format) {
+            case CSV -> insertCsv(connection, in);
+            case NDJSON -> insertNdjson(connection, in);
+        };
+    }
+
+    long exportTasks(Connection connection, TaskTransferFormat format, Long ownerId, OutputStream out)
+            throws SQLException, IOException {
+        String sql = EXPORT_ROWS + (ownerId == null ? "" : " WHERE user_id = ? ORDER BY created_at, id");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = 0;
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            if (ownerId != null) {
+                statement.setLong(1, ownerId);
+            }
+            if (format == TaskTransferFormat.CSV) {
+                writer.write(String.join(",", NDJSON_COLUMNS) + "\n");
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    TaskRow row = new TaskRow(
+                            rs.getLong("user_id"),
+                            rs.getString("title"),
+                            rs.getString("description"),
+                            rs.getBoolean("done"),
+                            rs.getTimestamp("created_at").toLocalDateTime()
+                    );
+                    switch (format) {
+                        case CSV -> writeCsv(writer, row);
+                        case NDJSON -> writer.write(rowWriter.writeValueAsString(row) + "\n");
+                    }
+                    rows++;
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private long insertCsv(Connection connection, InputStream in) throws SQLException, IOException {
+        List<String> columns = JdbcTaskTransferRepository.readHeader(in);
+        try (MultiRowInsert insert = new MultiRowInsert(connection, columns);
+             MappingIterator<List<String>> rows = csvReader.readValues(in)) {
+            long line = 1;
+            while (rows.hasNextValue()) {
+                line++;
+                List<String> fields = rows.nextValue();
+                if (fields.size() != columns.size()) {
+                    throw new IllegalArgumentException("linha " + line + ": " + fields.size()
+                            + " campos, esperados " + columns.size());
+                }
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = csvValue(columns.get(i), fields.get(i), line);
+                }
+                insert.add(values);
+            }
+            return insert.total();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("CSV inválido (" + e.getOriginalMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Converts a CSV field as {@code COPY} would, with {@code FORCE_NOT_NULL (user_id, title)}.
+     */
+    private static Object csvValue(String column, String field, long line) {
+        if (field == null && !column.equals("user_id") && !column.equals("title")) {
+            return null;
+        }
+        try {
+            return switch (column) {
+                case "user_id" -> Long.valueOf(field == null ? "" : field.strip());
+                case "done" -> parseBoolean(field.strip());
+                case "created_at" -> LocalDateTime.parse(field.strip().replace(' ', 'T'));
+                default -> field == null ? "" : field;
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("linha " + line + ": valor inválido para " + column
+                    + " ('" + field + "')", e);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        if (TRUE_VALUES.contains(normalized)) {
+            return true;
+        }
+        if (FALSE_VALUES.contains(normalized)) {
+            return false;
+        }
+        throw new NumberFormatException(value);
+    }
+
+    private long insertNdjson(Connection connection, InputStream in) throws SQLException, IOException {
+        LocalDateTime importedAt = LocalDateTime.now();
+        long line = 0;
+        try (MultiRowInsert insert = new MultiRowInsert(connection, NDJSON_COLUMNS);
+             MappingIterator<TaskRow> rows = rowReader.readValues(in)) {
+            while (rows.hasNextValue()) {
+                line++;
+                TaskRow row = rows.nextValue();
+                if (row.userId() == null || row.title() == null) {
+                    throw new IllegalArgumentException("linha " + line + ": userId e title são obrigatórios");
+                }
+                insert.add(new Object[]{
+                        row.userId(),
+                        row.title(),
+                        row.description(),
+                        row.done() != null && row.done(),
+                        row.createdAt() != null ? row.createdAt() : importedAt
+                });
+            }
+            return insert.total();
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("linha " + (line + 1) + ": JSON inválido ("
+                    + e.getOriginalMessage() + ")", e);
+        }
+    }
+
+    /**
+     * Writes a row as {@code COPY ... WITH (FORMAT csv)} does: {@code NULL} is an empty field, and text is only
+     * quoted when it is empty or holds a comma, a quote or a line break.
+     */
+    private static void writeCsv(Writer writer, TaskRow row) throws IOException {
+        writer.write(row.userId() + ",");
+        writer.write(csvText(row.title()) + ",");
+        writer.write((row.description() == null ? "" : csvText(row.description())) + ",");
+        writer.write(row.done() + ",");
+        writer.write(CSV_TIMESTAMP.format(row.createdAt()) + "\n");
+    }
+
+    private static String csvText(String value) {
+        if (!value.isEmpty() && value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Buffers rows and inserts them {@value #ROWS_PER_INSERT} at a time, reusing the statement of a full chunk.
+     */
+    private static final class MultiRowInsert implements AutoCloseable {
+
+        private final Connection connection;
+        private final List<String> columns;
+        private final List<Object[]> pending = new ArrayList<>(ROWS_PER_INSERT);
+        private PreparedStatement fullChunk;
+        private long total;
+
+        private MultiRowInsert(Connection connection, List<String> columns) {
+            this.connection = connection;
+            this.columns = columns;
+        }
+
+        private void add(Object[] values) throws SQLException {
+            pending.add(values);
+            if (pending.size() == ROWS_PER_INSERT) {
+                if (fullChunk == null) {
+                    fullChunk = connection.prepareStatement(sql(ROWS_PER_INSERT));
+                }
+                execute(fullChunk);
+            }
+        }
+
+        private long total() throws SQLException {
+            if (!pending.isEmpty()) {
+                try (PreparedStatement statement = connection.prepareStatement(sql(pending.size()))) {
+                    execute(statement);
+                }
+            }
+            return total;
+        }
+
+        private void execute(PreparedStatement statement) throws SQLException {
+            int index = 1;
+            for (Object[] row : pending) {
+                for (Object value : row) {
+                    statement.setObject(index++, value instanceof LocalDateTime dateTime
+                            ? Timestamp.valueOf(dateTime)
+                            : value);
+                }
+            }
+            total += statement.executeUpdate();
+            pending.clear();
+        }
+
+        private String sql(int rows) {
+            String placeholders = "(" + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+            return "INSERT INTO tasks (" + String.join(", ", columns) + ") VALUES "
+                    + String.join(", ", Collections.nCopies(rows, placeholders));
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (fullChunk != null) {
+                fullChunk.close();
+            }
+        }
+    }
+}
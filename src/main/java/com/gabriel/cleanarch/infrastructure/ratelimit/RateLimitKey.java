@@ -0,0 +1,17 @@
+package com.gabriel.cleanarch.infrastructure.ratelimit;
+
+/**
+ * What a rate limiting bucket belongs to.
+ */
+public enum RateLimitKey {
+
+    /**
+     * The client's IP address, for endpoints called before authentication (login, registration).
+     */
+    IP,
+
+    /**
+     * The subject of the request's bearer token; requests without a valid token fall back to their IP address.
+     */
+    USER
+}
@@ -0,0 +1,41 @@
+package com.gabriel.cleanarch.infrastructure.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limiting settings ({@code app.rate-limit.*}).
+ *
+ * @param enabled whether requests are limited at all
+ * @param maxKeys the maximum number of buckets kept in memory
+ * @param policies the policies by name, checked in declaration order; the first matching one applies
+ */
+@ConfigurationProperties("app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long maxKeys,
+        Map<String, Policy> policies
+) {
+
+    /**
+     * A limit of {@code capacity} requests per {@code period} for each key, with bursts of up to {@code capacity}.
+     *
+     * @param pattern the Ant-style path pattern of the limited endpoints, e.g. {@code /api/tasks/**}
+     * @param methods the limited HTTP methods, or empty for all of them
+     * @param key what each bucket belongs to
+     * @param capacity the number of requests allowed per period
+     * @param period the time in which a drained bucket fills up again
+     */
+    public record Policy(
+            String pattern,
+            @DefaultValue List<String> methods,
+            @DefaultValue("user") RateLimitKey key,
+            int capacity,
+            Duration period
+    ) {
+    }
+}
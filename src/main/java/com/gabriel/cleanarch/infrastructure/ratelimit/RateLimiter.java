@@ -0,0 +1,154 @@
+package com.gabriel.cleanarch.infrastructure.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Token buckets per endpoint policy and key (IP address or user), shared by the servlet and reactive filters.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (GCRA): the instant at which
+ * it will be full again. Taking a token is one compare-and-set, so concurrent requests never block each other,
+ * and buckets of different keys share nothing. A bucket that has not been used for a whole period is full, so
+ * it is evicted and recreated on demand without changing any decision.
+ */
+@Component
+public class RateLimiter {
+
+    private final List<Rule> rules;
+    private final Cache<String, AtomicLong> buckets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        List<Rule> configured = new ArrayList<>();
+        if (properties.enabled() && properties.policies() != null) {
+            properties.policies().forEach((name, policy) -> configured.add(new Rule(name, policy, meterRegistry)));
+        }
+        this.rules = List.copyOf(configured);
+
+        Duration longestPeriod = rules.stream()
+                .map(rule -> rule.policy().period())
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterAccess(longestPeriod)
+                .build();
+    }
+
+    /**
+     * Returns the rule that limits the given request, or {@code null} if it is not limited.
+     * @param method the request's HTTP method
+     * @param path the request's path, without the context path
+     */
+    public Rule ruleFor(String method, String path) {
+        for (Rule rule : rules) {
+            if ((rule.methods().isEmpty() || rule.methods().contains(method))
+                    && pathMatcher.match(rule.policy().pattern(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a token from the bucket of the given key.
+     * @param rule the rule returned by {@link #ruleFor(String, String)}
+     * @param key the key of the bucket, e.g. the client's IP address or the user's email
+     * @return {@code 0} if the request is allowed, otherwise the nanoseconds until the bucket has a token again
+     */
+    public long acquire(Rule rule, String key) {
+        AtomicLong bucket = buckets.get(rule.name() + '|' + key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+
+        for (;;) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + rule.intervalNanos();
+            long wait = next - rule.burstNanos() - now;
+            if (wait > 0) {
+                rule.throttled().increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Seconds to send in {@code Retry-After} for the given wait, rounded up.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * A configured policy with its precomputed token interval.
+     */
+    public static final class Rule {
+
+        private final String name;
+        private final RateLimitProperties.Policy policy;
+        private final Set<String> methods;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final Counter throttled;
+
+        private Rule(String name, RateLimitProperties.Policy policy, MeterRegistry meterRegistry) {
+            if (policy.pattern() == null || policy.capacity() < 1 || policy.period() == null || policy.period().isZero()) {
+                throw new IllegalArgumentException("Política de rate limit inválida: " + name);
+            }
+            this.name = name;
+            this.policy = policy;
+            this.methods = policy.methods().stream()
+                    .map(method -> method.toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+            this.intervalNanos = policy.period().toNanos() / policy.capacity();
+            this.burstNanos = intervalNanos * policy.capacity();
+            this.throttled = Counter.builder("http.server.requests.throttled")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("policy", name)
+                    .register(meterRegistry);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RateLimitProperties.Policy policy() {
+            return policy;
+        }
+
+        public RateLimitKey key() {
+            return policy.key();
+        }
+
+        Set<String> methods() {
+            return methods;
+        }
+
+        long intervalNanos() {
+            return intervalNanos;
+        }
+
+        long burstNanos() {
+            return burstNanos;
+        }
+
+        Counter throttled() {
+            return throttled;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.gabriel.cleanarch.infrastructure.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds {@code app.seed.bulk.users} users, each with {@code app.seed.bulk.tasks-per-user} tasks,
+ * for load tests and capacity planning.
+ * <p>
+ * The users are {@code user1@loadtest.local}, {@code user2@loadtest.local}, ... with the role USER and
+ * the password {@code app.seed.bulk.password}, hashed once and shared by all of them. Rows are generated
+ * by PostgreSQL itself ({@code generate_series}), a chunk of users and their tasks per statement.
+ * Users that already exist are skipped together with their tasks, so restarting with the same
+ * settings does not seed anything twice.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${app.seed.bulk.users:0} > 0")
+public class BulkDataSeeder implements CommandLineRunner {
+
+    // Cada statement insere no máximo ~100 mil tasks
+    private static final int TASKS_PER_STATEMENT = 100_000;
+
+    private static final String INSERT_USERS_AND_TASKS = """
+            WITH new_users AS (
+                INSERT INTO users (email, password, role)
+                SELECT 'user' || g || '@loadtest.local', ?, 'USER'
+                FROM generate_series(?, ?) g
+                ON CONFLICT (email) DO NOTHING
+                RETURNING id
+            )
+            INSERT INTO tasks (id, title, description, done, created_at, user_id, version)
+            SELECT nextval('tasks_seq'),
+                   'Task ' || t,
+                   CASE WHEN t % 10 = 0 THEN 'relatório mensal' ELSE 'descrição ' || t END,
+                   t % 3 = 0,
+                   now() - make_interval(mins => t),
+                   u.id,
+                   0
+            FROM new_users u
+            CROSS JOIN generate_series(1, ?) t
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int users;
+    private final int tasksPerUser;
+    private final String password;
+
+    public BulkDataSeeder(
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.seed.bulk.users:0}") int users,
+            @Value("${app.seed.bulk.tasks-per-user:0}") int tasksPerUser,
+            @Value("${app.seed.bulk.password:loadtest123}") String password
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.users = users;
+        this.tasksPerUser = tasksPerUser;
+        this.password = password;
+    }
+
+    /**
+     * Inserts the users and their tasks that do not exist yet.
+     * @param args the command line arguments
+     */
+    @Override
+    public void run(String... args) {
+        long start = System.nanoTime();
+        String hash = passwordEncoder.encode(password);
+        int usersPerStatement = Math.max(1, TASKS_PER_STATEMENT / Math.max(1, tasksPerUser));
+
+        long tasks = 0;
+        for (int first = 1; first <= users; first += usersPerStatement) {
+            int last = Math.min(users, first + usersPerStatement - 1);
+            tasks += jdbcTemplate.update(INSERT_USERS_AND_TASKS, hash, first, last, tasksPerUser);
+        }
+
+        log.info("Seed em massa: {} usuários (user1..user{}@loadtest.local), {} tasks novas em {} ms",
+                users, users, tasks, (System.nanoTime() - start) / 1_000_000);
+    }
+}
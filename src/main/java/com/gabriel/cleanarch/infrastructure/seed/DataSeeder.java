@@ -4,32 +4,52 @@ import com.gabriel.cleanarch.domain.user.Role;
 import com.gabriel.cleanarch.domain.user.User;
 import com.gabriel.cleanarch.domain.user.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.boot.CommandLineRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class DataSeeder implements CommandLineRunner {
+public class DataSeeder {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Seeds the admin user on a background thread once the application is ready, so the query and the
+     * password hashing do not delay the first requests of a new node.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        Thread thread = new Thread(this::seed, "data-seeder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Seeds the database with an admin user if no user with the email "admin@example.com" exists.
      * The admin user has the email "admin@example.com", the password "admin123" and the role ADMIN.
-     * @param args the command line arguments
-     * @throws Exception if an error occurs while seeding the database
      */
-    @Override
-    public void run(String... args) throws Exception {
-        if (userRepository.findByEmail("admin@example.com").isEmpty()) {
-            User admin = User.builder()
-                    .email("admin@example.com")
-                    .password(passwordEncoder.encode("admin123"))
-                    .role(Role.ADMIN)
-                    .build();
-            userRepository.save(admin);
+    void seed() {
+        try {
+            if (userRepository.findByEmail("admin@example.com").isEmpty()) {
+                User admin = User.builder()
+                        .email("admin@example.com")
+                        .password(passwordEncoder.encode("admin123"))
+                        .role(Role.ADMIN)
+                        .build();
+                userRepository.save(admin);
+                log.info("Usuário admin criado");
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Outro nó que subiu ao mesmo tempo já criou o admin
+            log.debug("Usuário admin já existe");
+        } catch (RuntimeException e) {
+            log.warn("Falha ao criar o usuário admin: {}", e.getMessage());
         }
     }
 }
@@ -0,0 +1,123 @@
+package com.gabriel.cleanarch.interfaceadmin;
+
+import com.gabriel.cleanarch.application.task.InvalidTaskFileException;
+import com.gabriel.cleanarch.application.task.TaskTransferService;
+import com.gabriel.cleanarch.domain.task.TaskTransferFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Bulk import and export of the tasks of all users, restricted to the ADMIN role.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/api/admin/tasks")
+@RequiredArgsConstructor
+public class AdminTaskController {
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final TaskTransferService taskTransferService;
+
+    /**
+     * Imports the tasks of a CSV ({@code Content-Type: text/csv}) or NDJSON ({@code application/x-ndjson}) file
+     * sent as the request body, optionally compressed with {@code Content-Encoding: gzip}.
+     * <p>
+     * A CSV file starts with a header naming its columns, among {@code user_id}, {@code title} (both required),
+     * {@code description}, {@code done} and {@code created_at}; the files written by {@link #export} can be
+     * imported as they are. The body is streamed to the database, and all the tasks are imported in a single
+     * transaction. If the file is invalid, or references a user that does not exist, a response with a 400
+     * status code is returned and no task is imported.
+     * @param request the request whose body is the file
+     * @return a response containing the number of imported tasks
+     */
+    @PostMapping(path = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Map<String, Long>> importTasks(HttpServletRequest request) throws IOException {
+        TaskTransferFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(
+                MediaType.parseMediaType(request.getContentType())) ? TaskTransferFormat.NDJSON : TaskTransferFormat.CSV;
+        InputStream body = request.getInputStream();
+        if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+            body = new GZIPInputStream(body, GZIP_BUFFER_SIZE);
+        }
+        return ResponseEntity.ok(Map.of("imported", taskTransferService.importTasks(format, body)));
+    }
+
+    /**
+     * Exports the tasks of all users, or of the given user, as CSV ({@code Accept: text/csv}, the default) or
+     * NDJSON ({@code Accept: application/x-ndjson}).
+     * <p>
+     * Tasks are written as the database reads them, so memory use stays flat regardless of their number, and the
+     * response is compressed when the client accepts it.
+     * @param ownerId the ID of the user whose tasks are exported, all users if absent
+     * @param accept the Accept header
+     * @param response the response the file is written to
+     */
+    @GetMapping(path = "/export", produces = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public void export(
+            @RequestParam(name = "userId", required = false) Long ownerId,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response
+    ) throws IOException {
+        TaskTransferFormat format = exportFormat(accept);
+        MediaType contentType = format == TaskTransferFormat.NDJSON ? MediaType.APPLICATION_NDJSON : TEXT_CSV;
+        String fileName = format == TaskTransferFormat.NDJSON ? "tasks.ndjson" : "tasks.csv";
+
+        response.setContentType(contentType.toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(fileName).build().toString());
+        // Escrito na própria thread da requisição, e não num StreamingResponseBody: um export grande
+        // passaria do spring.mvc.async.request-timeout
+        taskTransferService.exportTasks(format, ownerId, response.getOutputStream());
+    }
+
+    private static TaskTransferFormat exportFormat(String accept) {
+        if (accept != null) {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            // Mais específico primeiro e, como a ordenação é estável, o q mais alto na frente de tudo
+            MimeTypeUtils.sortBySpecificity(mediaTypes);
+            mediaTypes.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+            for (MediaType mediaType : mediaTypes) {
+                if (mediaType.isWildcardType()) {
+                    break;
+                }
+                if (MediaType.APPLICATION_NDJSON.isCompatibleWith(mediaType)) {
+                    return TaskTransferFormat.NDJSON;
+                }
+                if (TEXT_CSV.isCompatibleWith(mediaType)) {
+                    return TaskTransferFormat.CSV;
+                }
+            }
+        }
+        return TaskTransferFormat.CSV;
+    }
+
+    /**
+     * Rejects the import with a 400 status code when the file is invalid.
+     * @param e the exception describing the problem
+     * @return a response containing the error message
+     */
+    @ExceptionHandler(InvalidTaskFileException.class)
+    public ResponseEntity<Map<String, String>> invalidFile(InvalidTaskFileException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of("error", e.getMessage()));
+    }
+}
@@ -1,14 +1,24 @@
 package com.gabriel.cleanarch.interfaceauth;
 
+import com.gabriel.cleanarch.application.auth.AuthCapacityExceededException;
 import com.gabriel.cleanarch.application.auth.AuthService;
+import com.gabriel.cleanarch.application.auth.AuthTokens;
+import com.gabriel.cleanarch.application.auth.InvalidRefreshTokenException;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
@@ -19,33 +29,98 @@ public class AuthController {
      * Registers a new user.
      * <p>
      * This endpoint receives a request with the user's email and password, and returns a JWT token
-     * that can be used to authenticate the user in future requests.
+     * that can be used to authenticate the user in future requests, and a refresh token.
      * <p>
-     * The returned token is valid for 1 hour.
+     * The returned token is valid for {@code app.jwt.access-token-ttl} (15 minutes); the refresh token renews it
+     * through {@link #refresh}.
      * <p>
      * If the user is already registered, a RuntimeException is thrown with the message "Email already registered".
+     * <p>
+     * The password is hashed on the bounded login pool and the request thread is released meanwhile.
+     * If the pool is saturated, a response with a 429 status code is returned.
      * @param request the request containing the user's email and password
-     * @return a response containing the JWT token
+     * @return a response containing the JWT token and the refresh token
      */
     @PostMapping("/register")
-    public ResponseEntity<TokenResponse> register(@RequestBody RegisterRequest request) {
-        String token = authService.register(request.getEmail(), request.getPassword());
-        return ResponseEntity.ok(new TokenResponse(token));
+    public CompletableFuture<ResponseEntity<TokenResponse>> register(@RequestBody RegisterRequest request) {
+        return authService.register(request.getEmail(), request.getPassword())
+                .thenApply(tokens -> ResponseEntity.ok(TokenResponse.of(tokens)));
     }
 
     /**
-     * Logs in a user and returns a JWT token that can be used to authenticate the user in future requests.
+     * Logs in a user and returns a JWT token that can be used to authenticate the user in future requests,
+     * and a refresh token.
      * <p>
-     * The returned token is valid for 1 hour.
+     * The returned token is valid for {@code app.jwt.access-token-ttl} (15 minutes); the refresh token renews it
+     * through {@link #refresh}.
      * <p>
      * If the user is not found, a RuntimeException is thrown with the message "User not found".
+     * <p>
+     * The password is checked on the bounded login pool and the request thread is released meanwhile.
+     * If the pool is saturated, a response with a 429 status code is returned.
      * @param request the request containing the user's email and password
-     * @return a response containing the JWT token
+     * @return a response containing the JWT token and the refresh token
      */
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest request) {
-        String token = authService.login(request.getEmail(), request.getPassword());
-        return ResponseEntity.ok(new TokenResponse(token));
+    public CompletableFuture<ResponseEntity<TokenResponse>> login(@RequestBody LoginRequest request) {
+        return authService.login(request.getEmail(), request.getPassword())
+                .thenApply(tokens -> ResponseEntity.ok(TokenResponse.of(tokens)));
+    }
+
+    /**
+     * Exchanges a refresh token for a new JWT token and a new refresh token; the one sent can no longer be used.
+     * <p>
+     * No password is checked, so this runs on the request thread. If the refresh token is unknown, expired or
+     * was already used, a response with a 401 status code is returned; a refresh token used twice also revokes
+     * the refresh tokens issued after it.
+     * @param request the request containing the refresh token
+     * @return a response containing the new JWT token and refresh token
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@RequestBody RefreshRequest request) {
+        return ResponseEntity.ok(TokenResponse.of(authService.refresh(request.getRefreshToken())));
+    }
+
+    /**
+     * Logs out: the JWT token in the Authorization header is rejected from now on, on every node within
+     * {@code app.jwt.revocation.poll-interval}, and the refresh token in the body can no longer be used.
+     * @param authorization the Authorization header, if any
+     * @param request the request containing the refresh token, if any
+     * @return a response with a 204 status code
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshRequest request
+    ) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring(7)
+                : null;
+        authService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Rejects the request with a 429 status code when the login pool is saturated.
+     * @param e the exception thrown by the login pool
+     * @return a response with a 429 status code and a {@code Retry-After} header
+     */
+    @ExceptionHandler(AuthCapacityExceededException.class)
+    public ResponseEntity<Map<String, String>> tooManyRequests(AuthCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    /**
+     * Rejects the request with a 401 status code when the refresh token cannot be used.
+     * @param e the exception thrown by the refresh
+     * @return a response with a 401 status code
+     */
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<Map<String, String>> invalidRefreshToken(InvalidRefreshTokenException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(Map.of("error", e.getMessage()));
     }
 
     @Data
@@ -66,8 +141,20 @@ public class AuthController {
         private String password;
     }
 
+    @Data
+    public static class RefreshRequest {
+        @NotBlank
+        private String refreshToken;
+    }
+
     @Data
     public static class TokenResponse {
         private final String token;
+        private final String refreshToken;
+        private final long expiresIn;
+
+        static TokenResponse of(AuthTokens tokens) {
+            return new TokenResponse(tokens.accessToken(), tokens.refreshToken(), tokens.expiresIn());
+        }
     }
 }
@@ -0,0 +1,223 @@
+package com.gabriel.cleanarch.interfacetask;
+
+import com.gabriel.cleanarch.application.auth.AuthenticatedUser;
+import com.gabriel.cleanarch.application.task.ReactiveTaskService;
+import com.gabriel.cleanarch.application.task.TaskCursor;
+import com.gabriel.cleanarch.application.task.TaskPage;
+import com.gabriel.cleanarch.application.task.TaskVersionConflictException;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
+import com.gabriel.cleanarch.interfacetask.TaskController.TaskRequest;
+import com.gabriel.cleanarch.interfacetask.TaskController.TaskUpdateRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * WebFlux variant of {@link TaskController}, active when the application runs as a reactive web application
+ * (the {@code reactive} profile). It serves the same task endpoints with the same contract, except the
+ * batch endpoints, which stay on the servlet deployment.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/api/tasks")
+@RequiredArgsConstructor
+public class ReactiveTaskController {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final ReactiveTaskService taskService;
+
+    /**
+     * Returns a page of tasks for the authenticated user, ordered by creation date.
+     * <p>
+     * Same parameters, headers and status codes as {@link TaskController#list}: a 304 response is returned
+     * without querying the tasks when the client already has the current list, and a 400 response when the
+     * cursor is malformed.
+     * @param user the authenticated user
+     * @param exchange the current exchange, used for the conditional GET check
+     * @return a response containing the page of tasks, or an empty response for 304
+     */
+    @GetMapping
+    public Mono<ResponseEntity<TaskPage>> list(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            ServerWebExchange exchange,
+            @RequestParam(required = false) Boolean done,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        TaskFilter filter = new TaskFilter(done, from, to, q, "desc".equalsIgnoreCase(sort), includeArchived);
+
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = TaskCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+            }
+        }
+        TaskCursor position = after;
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        return taskService.findListVersion(user.id())
+                .filter(version -> !exchange.checkNotModified(listEtag(user.id(), version, exchange)))
+                .flatMap(version -> taskService.findPageByUser(user.id(), filter, position, pageSize))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams all tasks of the authenticated user as newline-delimited JSON.
+     * <p>
+     * Selected with {@code Accept: application/x-ndjson}. Each task is written as soon as it is read,
+     * with backpressure from the client's connection.
+     * @param user the authenticated user
+     * @return the tasks, one per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TaskView> stream(@AuthenticationPrincipal AuthenticatedUser user) {
+        return taskService.streamAllByUser(user.id());
+    }
+
+    /**
+     * Returns a task of the authenticated user, with an {@code ETag} holding its version.
+     * <p>
+     * Returns 304 when the request's {@code If-None-Match} header matches it, and 404 when the task does not
+     * exist or belongs to another user.
+     * @param user the authenticated user
+     * @param id the task's ID
+     * @param exchange the current exchange, used for the conditional GET check
+     * @return a response containing the task, or an empty response for 304
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TaskView>> get(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            ServerWebExchange exchange
+    ) {
+        return taskService.findByUser(user.id(), id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task não encontrada")))
+                .filter(task -> !exchange.checkNotModified(taskEtag(task.version())))
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Creates a new task for the authenticated user and returns it, with its {@code ETag}.
+     * @param user the authenticated user
+     * @param request the request containing the task's title and description
+     * @return a response containing the created task
+     */
+    @PostMapping
+    public Mono<ResponseEntity<TaskView>> create(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody TaskRequest request
+    ) {
+        return taskService.createTask(user.id(), request.getTitle(), request.getDescription())
+                .map(task -> ResponseEntity.ok()
+                        .eTag(taskEtag(task.version()))
+                        .body(task));
+    }
+
+    /**
+     * Updates a task for the authenticated user.
+     * <p>
+     * Same contract as {@link TaskController#update}: 204 on success, 412 when the {@code If-Match} header
+     * no longer matches the task's version, and 404 when the task does not exist or belongs to another user.
+     * @param user the authenticated user
+     * @param id the task's ID
+     * @param ifMatch the {@code ETag} of the task as last read by the client, if any
+     * @param request the request containing the task's title, description and done status
+     * @return a response with a 204 status code
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Void>> update(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestBody TaskUpdateRequest request
+    ) {
+        Long expectedVersion = parseIfMatch(ifMatch);
+        return taskService.updateTask(
+                        user.id(),
+                        id,
+                        expectedVersion,
+                        request.getTitle(),
+                        request.getDescription(),
+                        request.isDone()
+                )
+                .onErrorMap(TaskVersionConflictException.class,
+                        e -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage()))
+                .map(updated -> {
+                    if (!updated) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task não encontrada");
+                    }
+                    ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+                    if (expectedVersion != null) {
+                        response.eTag(taskEtag(expectedVersion + 1));
+                    }
+                    return response.build();
+                });
+    }
+
+    /**
+     * Deletes a task for the authenticated user.
+     * <p>
+     * Returns 204 on success and 404 when the task does not exist or belongs to another user.
+     * @param user the authenticated user
+     * @param id the task's ID
+     * @return a response with a 204 status code
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable Long id) {
+        return taskService.deleteTask(user.id(), id)
+                .map(deleted -> {
+                    if (!deleted) {
+                        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task não encontrada");
+                    }
+                    return ResponseEntity.noContent().<Void>build();
+                });
+    }
+
+    private static String taskEtag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // Mesmo formato do TaskController, para que os ETags valham nos dois deployments
+    private static String listEtag(Long userId, TaskListVersion version, ServerWebExchange exchange) {
+        String query = exchange.getRequest().getURI().getRawQuery();
+        return "W/\"" + userId + "-" + version.version() + "-" + Integer.toHexString(Objects.hashCode(query)) + "\"";
+    }
+
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.parseLong(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match inválido");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.gabriel.cleanarch.interfacetask;
+
+import com.gabriel.cleanarch.application.task.TaskEvent;
+import com.gabriel.cleanarch.application.task.TaskEventSink;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Writes a user's change feed to a Server-Sent Events response.
+ * <p>
+ * Each task event is sent with its version as the SSE {@code id}, so browsers resend it in the
+ * {@code Last-Event-ID} header when they reconnect.
+ */
+class SseTaskEventSink implements TaskEventSink {
+
+    private final SseEmitter emitter;
+
+    SseTaskEventSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void event(TaskEvent event) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.version()))
+                .name(event.type().name().toLowerCase())
+                .data(event));
+    }
+
+    @Override
+    public void reset(long version) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(String.valueOf(version))
+                .name("reset")
+                .data(Map.of("version", version)));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void complete() {
+        try {
+            emitter.complete();
+        } catch (IllegalStateException e) {
+            // Resposta já encerrada pelo cliente ou por timeout
+        }
+    }
+}
@@ -1,33 +1,217 @@
 package com.gabriel.cleanarch.interfacetask;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.gabriel.cleanarch.application.auth.AuthenticatedUser;
+import com.gabriel.cleanarch.application.task.NewTask;
+import com.gabriel.cleanarch.application.task.TaskBatchResult;
+import com.gabriel.cleanarch.application.task.TaskCursor;
+import com.gabriel.cleanarch.application.task.TaskEventBroker;
+import com.gabriel.cleanarch.application.task.TaskEventSubscription;
+import com.gabriel.cleanarch.application.task.TaskPage;
 import com.gabriel.cleanarch.application.task.TaskService;
+import com.gabriel.cleanarch.application.task.TaskVersionConflictException;
 import com.gabriel.cleanarch.domain.task.Task;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.task.TaskUpdate;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/tasks")
-@RequiredArgsConstructor
 public class TaskController {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TaskService taskService;
+    private final TaskEventBroker taskEventBroker;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter taskLineWriter;
+
+    @Value("${app.tasks.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${app.tasks.events.timeout:30m}")
+    private Duration eventsTimeout;
 
+    public TaskController(TaskService taskService, TaskEventBroker taskEventBroker, ObjectMapper objectMapper) {
+        this.taskService = taskService;
+        this.taskEventBroker = taskEventBroker;
+        this.objectMapper = objectMapper;
+        // Serializer da TaskView resolvido uma vez, não a cada requisição
+        this.taskLineWriter = objectMapper.writerFor(TaskView.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
 
     /**
-     * Returns a list of tasks for the authenticated user.
-     * 
-     * @return a response containing the list of tasks
+     * Returns a page of tasks for the authenticated user, ordered by creation date.
+     * <p>
+     * The tasks can be filtered by done status, creation date range and text in the title or description.
+     * All filtering is done by the database.
+     * <p>
+     * The next page is requested by passing the returned {@code nextCursor} as the {@code cursor} parameter,
+     * along with the same filters and sort order.
+     * The page size is capped at {@value #MAX_PAGE_SIZE}.
+     * <p>
+     * Completed tasks are moved to an archive some time after their creation (see {@code app.tasks.archive.after})
+     * and are only listed with {@code includeArchived=true}. Archived tasks are read-only: they cannot be fetched,
+     * updated or deleted by ID.
+     * <p>
+     * The response carries an {@code ETag} derived from the version of the user's task list. If the request's
+     * {@code If-None-Match} header shows the client already has the current list, a response with a 304 status
+     * code is returned without querying the tasks. There is no {@code Last-Modified}: its one-second precision
+     * would answer 304 to a client that missed a write made later in the same second.
+     * <p>
+     * If the cursor is malformed, a response with a 400 status code is returned.
+     * @param user the authenticated user
+     * @param webRequest the current request, used for the conditional GET check
+     * @param done only tasks with this done status, if present
+     * @param from only tasks created at or after this date, if present
+     * @param to only tasks created before this date, if present
+     * @param q only tasks whose title or description match this text, if present
+     * @param sort {@code asc} for oldest first (default) or {@code desc} for newest first
+     * @param includeArchived whether archived tasks are listed too
+     * @param cursor the cursor returned with the previous page, absent for the first page
+     * @param limit the maximum number of tasks in the page
+     * @return a response containing the page of tasks
      */
     @GetMapping
-    public ResponseEntity<List<Task>> list(Authentication auth) {
-        String email = auth.getName();
-        return ResponseEntity.ok(taskService.findAllByUser(email));
+    public ResponseEntity<TaskPage> list(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            ServletWebRequest webRequest,
+            @RequestParam(required = false) Boolean done,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "asc") String sort,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        TaskListVersion version = taskService.findListVersion(user.id());
+        if (webRequest.checkNotModified(listEtag(user.id(), version, webRequest))) {
+            return null;
+        }
+
+        TaskFilter filter = new TaskFilter(done, from, to, q, "desc".equalsIgnoreCase(sort), includeArchived);
+
+        TaskCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = TaskCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return ResponseEntity.ok(taskService.findPageByUser(user.id(), version, filter, after, pageSize));
+    }
+
+    /**
+     * Streams all tasks of the authenticated user as newline-delimited JSON.
+     * <p>
+     * Selected with {@code Accept: application/x-ndjson}. Tasks are written as they are read from
+     * a database cursor, so memory use stays flat regardless of the number of tasks.
+     * @param user the authenticated user
+     * @return a streaming response with one task per line
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(@AuthenticationPrincipal AuthenticatedUser user) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.setRootValueSeparator(null);
+                taskService.streamAllByUser(user.id(), task -> writeLine(taskLineWriter, generator, task));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Opens a Server-Sent Events feed of the changes to the authenticated user's tasks, made on any node.
+     * <p>
+     * Each change is sent as a {@code created}, {@code updated} or {@code deleted} event whose data holds the
+     * new version of the task list and the IDs of the changed tasks, and whose {@code id} is that version.
+     * A client that reconnects with the {@code Last-Event-ID} header (or the {@code lastEventId} parameter)
+     * receives the events it missed. When they are no longer
+     * available, a {@code reset} event tells it to reload the list with {@code GET /api/tasks}.
+     * <p>
+     * A comment is sent at a fixed interval to keep idle connections open. Connections that cannot keep up
+     * with their events, or stay open longer than the configured timeout, are closed and should reconnect.
+     * @param user the authenticated user
+     * @param lastEventIdHeader the ID of the last event received, sent by browsers on reconnection
+     * @param lastEventIdParam the same, for clients that cannot set headers
+     * @return the event stream
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(name = "lastEventId", required = false) String lastEventIdParam
+    ) {
+        SseEmitter emitter = new SseEmitter(eventsTimeout.toMillis());
+        TaskEventSubscription subscription = taskEventBroker.subscribe(
+                user.id(),
+                parseLastEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam),
+                new SseTaskEventSink(emitter)
+        );
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(e -> subscription.cancel());
+        return emitter;
+    }
+
+    /**
+     * Returns a task of the authenticated user.
+     * <p>
+     * The response carries an {@code ETag} with the task's version. If the request's {@code If-None-Match}
+     * header matches it, a response with a 304 status code is returned without a body.
+     * <p>
+     * If the task does not exist, belongs to another user or is archived, a response with a 404 status code is returned.
+     * @param user the authenticated user
+     * @param id the task's ID
+     * @param webRequest the current request, used for the conditional GET check
+     * @return a response containing the task
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<TaskView> get(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @PathVariable Long id,
+            ServletWebRequest webRequest
+    ) {
+        TaskView task = taskService.findByUser(user.id(), id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Task não encontrada"));
+        if (webRequest.checkNotModified(taskEtag(task.version()))) {
+            return null;
+        }
+        return ResponseEntity.ok(task);
     }
 
     /**
@@ -38,18 +222,19 @@ public class TaskController {
      * The task is then saved to the database and returned in the response.
      * <p>
      * If the task is successfully created, a response with a 200 status code is returned containing the created task.
-     * @param auth the authenticated user
+     * @param user the authenticated user
      * @param request the request containing the task's title and description
      * @return a response containing the created task
      */
     @PostMapping
-    public ResponseEntity<Task> create(
-            Authentication auth,
+    public ResponseEntity<TaskView> create(
+            @AuthenticationPrincipal AuthenticatedUser user,
             @RequestBody TaskRequest request
     ) {
-        String email = auth.getName();
-        Task task = taskService.createTask(email, request.getTitle(), request.getDescription());
-        return ResponseEntity.ok(task);
+        Task task = taskService.createTask(user.id(), request.getTitle(), request.getDescription());
+        return ResponseEntity.ok()
+                .eTag(taskEtag(task.getVersion()))
+                .body(TaskView.from(task));
     }
 
     /**
@@ -58,29 +243,48 @@ public class TaskController {
      * The task's ID is retrieved from the path variable.
      * The task's title, description and done status are retrieved from the request body.
      * <p>
-     * The task is then updated in the database and returned in the response.
+     * If the request has an {@code If-Match} header with the task's {@code ETag}, the task is only updated
+     * if it has not changed since; otherwise a response with a 412 status code is returned.
      * <p>
-     * If the task is successfully updated, a response with a 200 status code is returned containing the updated task.
-     * @param auth the authenticated user
+     * If the task is successfully updated, a response with a 204 status code is returned, with the new
+     * {@code ETag} when {@code If-Match} was sent.
+     * If the task does not exist, belongs to another user or is archived, a response with a 404 status code is returned.
+     * @param user the authenticated user
      * @param id the task's ID
+     * @param ifMatch the {@code ETag} of the task as last read by the client, if any
      * @param request the request containing the task's title, description and done status
-     * @return a response containing the updated task
+     * @return a response with a 204 status code
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Task> update(
-            Authentication auth,
+    public ResponseEntity<Void> update(
+            @AuthenticationPrincipal AuthenticatedUser user,
             @PathVariable Long id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @RequestBody TaskUpdateRequest request
     ) {
-        String email = auth.getName();
-        Task task = taskService.updateTask(
-                email,
-                id,
-                request.getTitle(),
-                request.getDescription(),
-                request.isDone()
-        );
-        return ResponseEntity.ok(task);
+        Long expectedVersion = parseIfMatch(ifMatch);
+        boolean updated;
+        try {
+            updated = taskService.updateTask(
+                    user.id(),
+                    id,
+                    expectedVersion,
+                    request.getTitle(),
+                    request.getDescription(),
+                    request.isDone()
+            );
+        } catch (TaskVersionConflictException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+        }
+        if (!updated) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task não encontrada");
+        }
+
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (expectedVersion != null) {
+            response.eTag(taskEtag(expectedVersion + 1));
+        }
+        return response.build();
     }
 
 /**
@@ -89,17 +293,144 @@ public class TaskController {
  * The task's ID is retrieved from the path variable.
  * <p>
  * If the task is successfully deleted, a response with a 204 status code is returned.
- * @param auth the authenticated user
+ * If the task does not exist, belongs to another user or is archived, a response with a 404 status code is returned.
+ * @param user the authenticated user
  * @param id the task's ID
  * @return a response with a 204 status code
  */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> delete(Authentication auth, @PathVariable Long id) {
-        String email = auth.getName();
-        taskService.deleteTask(email, id);
+    public ResponseEntity<Void> delete(@AuthenticationPrincipal AuthenticatedUser user, @PathVariable Long id) {
+        if (!taskService.deleteTask(user.id(), id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Task não encontrada");
+        }
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Creates several tasks for the authenticated user in a single request.
+     * <p>
+     * Returns one result per task, in the same order as the request, with the ID of the created task.
+     * <p>
+     * If the batch is larger than the configured maximum, a response with a 400 status code is returned.
+     * @param user the authenticated user
+     * @param requests the tasks to create
+     * @return a response containing the result of each creation
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> createBatch(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<TaskRequest> requests
+    ) {
+        checkBatchSize(requests);
+        List<NewTask> newTasks = requests.stream()
+                .map(r -> new NewTask(r.getTitle(), r.getDescription()))
+                .toList();
+        return ResponseEntity.ok(taskService.createTasks(user.id(), newTasks));
+    }
+
+    /**
+     * Updates several tasks of the authenticated user in a single request.
+     * <p>
+     * Returns one result per task, in the same order as the request. Tasks that do not exist,
+     * belong to another user or are archived are reported as {@code NOT_FOUND}.
+     * <p>
+     * If the batch is larger than the configured maximum, a response with a 400 status code is returned.
+     * @param user the authenticated user
+     * @param requests the tasks to update, each with its ID
+     * @return a response containing the result of each update
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> updateBatch(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<TaskBatchUpdateRequest> requests
+    ) {
+        checkBatchSize(requests);
+        List<TaskUpdate> updates = requests.stream()
+                .map(r -> new TaskUpdate(r.getId(), r.getTitle(), r.getDescription(), r.isDone()))
+                .toList();
+        return ResponseEntity.ok(taskService.updateTasks(user.id(), updates));
+    }
+
+    /**
+     * Deletes several tasks of the authenticated user in a single request.
+     * <p>
+     * Returns one result per ID, in the same order as the request. Tasks that do not exist,
+     * belong to another user or are archived are reported as {@code NOT_FOUND}.
+     * <p>
+     * If the batch is larger than the configured maximum, a response with a 400 status code is returned.
+     * @param user the authenticated user
+     * @param ids the IDs of the tasks to delete
+     * @return a response containing the result of each deletion
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<TaskBatchResult>> deleteBatch(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestBody List<Long> ids
+    ) {
+        checkBatchSize(ids);
+        return ResponseEntity.ok(taskService.deleteTasks(user.id(), ids));
+    }
+
+    private void checkBatchSize(List<?> operations) {
+        if (operations.size() > maxBatchSize) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Lote excede o máximo de " + maxBatchSize + " operações"
+            );
+        }
+    }
+
+    private static String taskEtag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // A mesma versão da lista gera respostas diferentes por usuário e por filtros/cursor.
+    // Fraco, pois a mesma lista é servida em JSON ou CBOR, com ou sem compressão
+    private static String listEtag(Long userId, TaskListVersion version, ServletWebRequest webRequest) {
+        String query = webRequest.getRequest().getQueryString();
+        return "W/\"" + userId + "-" + version.version() + "-" + Integer.toHexString(Objects.hashCode(query)) + "\"";
+    }
+
+    /**
+     * Parses the version out of an {@code If-Match} header sent by the client.
+     *
+     * @return the expected version, or {@code null} if the header is absent or {@code *}
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        try {
+            return Long.parseLong(etag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "If-Match inválido");
+        }
+    }
+
+    private static Long parseLastEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void writeLine(ObjectWriter writer, JsonGenerator generator, Object value) {
+        try {
+            writer.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @Data
     public static class TaskRequest {
         @NotBlank
@@ -114,4 +445,13 @@ public class TaskController {
         private String description;
         private boolean done;
     }
+
+    @Data
+    public static class TaskBatchUpdateRequest {
+        private Long id;
+        @NotBlank
+        private String title;
+        private String description;
+        private boolean done;
+    }
 }
@@ -0,0 +1,34 @@
+-- Uma importação passa a gerar, por usuário, um único evento IMPORTED no outbox, com o número de
+-- tasks importadas: as integrações ficam sabendo da carga sem receber milhões de eventos, e podem
+-- buscar as tasks pelo export. O evento não se refere a uma task, então task_id fica nulo.
+ALTER TABLE task_outbox ALTER COLUMN task_id DROP NOT NULL;
+
+CREATE OR REPLACE FUNCTION write_task_outbox() RETURNS trigger AS $$
+BEGIN
+    IF coalesce(current_setting('app.task_archival', true), '') = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    IF coalesce(current_setting('app.bulk_import', true), '') = 'on' THEN
+        INSERT INTO task_outbox (user_id, task_id, type, payload)
+        SELECT c.user_id, NULL, 'IMPORTED', jsonb_build_object('tasks', count(*))
+        FROM changed_tasks c
+        GROUP BY c.user_id
+        ORDER BY c.user_id;
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO task_outbox (user_id, task_id, type, payload)
+    SELECT c.user_id,
+           c.id,
+           CASE TG_OP
+               WHEN 'INSERT' THEN 'CREATED'
+               WHEN 'UPDATE' THEN 'UPDATED'
+               ELSE 'DELETED'
+           END,
+           to_jsonb(c)
+    FROM changed_tasks c
+    ORDER BY c.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
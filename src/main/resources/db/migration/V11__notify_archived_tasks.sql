@@ -0,0 +1,35 @@
+-- Arquivar (app.task_archival = on na transação) tira as tasks da listagem padrão, mas elas
+-- continuam existindo, com includeArchived=true: o evento publicado é ARCHIVED, e não DELETED,
+-- para que os clientes não as removam do histórico.
+CREATE OR REPLACE FUNCTION bump_user_task_version() RETURNS trigger AS $$
+DECLARE
+    changed RECORD;
+    bulk BOOLEAN := coalesce(current_setting('app.bulk_import', true), '') = 'on';
+    archival BOOLEAN := coalesce(current_setting('app.task_archival', true), '') = 'on';
+BEGIN
+    FOR changed IN
+        UPDATE users u
+        SET task_version = u.task_version + 1,
+            tasks_modified_at = now()
+        WHERE u.id IN (SELECT DISTINCT user_id FROM changed_tasks)
+        RETURNING u.id, u.task_version
+    LOOP
+        PERFORM pg_notify('task_events', json_build_object(
+            'userId', changed.id,
+            'version', changed.task_version,
+            'type', CASE
+                        WHEN TG_OP = 'INSERT' THEN 'CREATED'
+                        WHEN TG_OP = 'UPDATE' THEN 'UPDATED'
+                        WHEN archival THEN 'ARCHIVED'
+                        ELSE 'DELETED'
+                    END,
+            'ids', CASE WHEN bulk THEN NULL
+                        ELSE (SELECT CASE WHEN count(*) <= 100 THEN json_agg(c.id ORDER BY c.id) END
+                              FROM changed_tasks c
+                              WHERE c.user_id = changed.id)
+                   END
+        )::text);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
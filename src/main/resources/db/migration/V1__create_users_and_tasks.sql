@@ -0,0 +1,24 @@
+-- Schema inicial. Usa IF NOT EXISTS para também valer em bancos criados antes
+-- pelo ddl-auto=update do Hibernate (baseline na versão 0).
+
+CREATE TABLE IF NOT EXISTS users (
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) CHECK (role IN ('USER', 'ADMIN'))
+);
+
+CREATE SEQUENCE IF NOT EXISTS tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id          BIGINT PRIMARY KEY,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    done        BOOLEAN NOT NULL,
+    created_at  TIMESTAMP(6),
+    user_id     BIGINT REFERENCES users (id)
+);
+
+-- tasks.id passou de IDENTITY para a sequence tasks_seq (incremento 50).
+-- Garante que a sequence comece depois do maior ID já existente.
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), (SELECT last_value FROM tasks_seq)));
@@ -0,0 +1,11 @@
+-- Índices dos padrões de acesso de tasks. CONCURRENTLY para não bloquear
+-- escritas em tabelas grandes (por isso roda fora de transação, ver .conf).
+
+-- Listagem paginada por dono: WHERE user_id = ? ORDER BY created_at, id
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_created_id
+    ON tasks (user_id, created_at, id);
+
+-- Mesma listagem restrita às tasks em aberto
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_user_open
+    ON tasks (user_id, created_at, id)
+    WHERE done = false;
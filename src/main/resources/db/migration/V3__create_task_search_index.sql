@@ -0,0 +1,4 @@
+-- Busca textual em título e descrição. A expressão precisa ser idêntica à
+-- usada pela função task_text_match (TaskFunctionContributor).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_search
+    ON tasks USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
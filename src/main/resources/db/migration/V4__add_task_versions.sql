@@ -0,0 +1,33 @@
+-- Versão por task (@Version, usada no If-Match) e versão da lista de tasks
+-- de cada usuário (usada no ETag / Last-Modified de GET /api/tasks).
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS task_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tasks_modified_at TIMESTAMP(6);
+
+-- Incrementa a versão uma vez por statement e por usuário afetado, então
+-- as escritas continuam sendo um único round-trip para a aplicação.
+CREATE OR REPLACE FUNCTION bump_user_task_version() RETURNS trigger AS $$
+BEGIN
+    UPDATE users u
+    SET task_version = u.task_version + 1,
+        tasks_modified_at = now()
+    WHERE u.id IN (SELECT DISTINCT user_id FROM changed_tasks);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_inserted_bump_version
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_user_task_version();
+
+CREATE TRIGGER tasks_updated_bump_version
+    AFTER UPDATE ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_user_task_version();
+
+CREATE TRIGGER tasks_deleted_bump_version
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_user_task_version();
@@ -0,0 +1,31 @@
+-- Publica cada mudança nas tasks no canal task_events, com a nova versão da
+-- lista do usuário como ID do evento. O NOTIFY só é entregue no commit, na
+-- ordem dos commits, a todos os nós que fazem LISTEN (feed SSE /api/tasks/stream).
+-- Acima de 100 tasks no mesmo statement os IDs são omitidos (payload máximo de 8000 bytes).
+CREATE OR REPLACE FUNCTION bump_user_task_version() RETURNS trigger AS $$
+DECLARE
+    changed RECORD;
+BEGIN
+    FOR changed IN
+        UPDATE users u
+        SET task_version = u.task_version + 1,
+            tasks_modified_at = now()
+        WHERE u.id IN (SELECT DISTINCT user_id FROM changed_tasks)
+        RETURNING u.id, u.task_version
+    LOOP
+        PERFORM pg_notify('task_events', json_build_object(
+            'userId', changed.id,
+            'version', changed.task_version,
+            'type', CASE TG_OP
+                        WHEN 'INSERT' THEN 'CREATED'
+                        WHEN 'UPDATE' THEN 'UPDATED'
+                        ELSE 'DELETED'
+                    END,
+            'ids', (SELECT CASE WHEN count(*) <= 100 THEN json_agg(c.id ORDER BY c.id) END
+                    FROM changed_tasks c
+                    WHERE c.user_id = changed.id)
+        )::text);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,51 @@
+-- Outbox de eventos das tasks: cada statement de escrita grava, na mesma transação,
+-- uma linha por task alterada (com o estado da task em JSON). O OutboxRelay lê a
+-- tabela em lotes, publica no sink configurado e apaga as linhas publicadas.
+CREATE TABLE IF NOT EXISTS task_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    user_id         BIGINT       NOT NULL,
+    task_id         BIGINT       NOT NULL,
+    type            VARCHAR(10)  NOT NULL,
+    payload         JSONB        NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL DEFAULT now(),
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6) NOT NULL DEFAULT now(),
+    last_error      TEXT
+);
+
+-- Ordem por usuário: o relay não publica um evento enquanto houver um anterior do mesmo usuário em espera
+CREATE INDEX IF NOT EXISTS idx_task_outbox_user_id ON task_outbox (user_id, id);
+
+-- Dispara depois de *_bump_version (ordem alfabética), que já trava a linha do usuário:
+-- os IDs do outbox de um mesmo usuário seguem a ordem dos commits.
+CREATE OR REPLACE FUNCTION write_task_outbox() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO task_outbox (user_id, task_id, type, payload)
+    SELECT c.user_id,
+           c.id,
+           CASE TG_OP
+               WHEN 'INSERT' THEN 'CREATED'
+               WHEN 'UPDATE' THEN 'UPDATED'
+               ELSE 'DELETED'
+           END,
+           to_jsonb(c)
+    FROM changed_tasks c
+    ORDER BY c.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_inserted_outbox
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION write_task_outbox();
+
+CREATE TRIGGER tasks_updated_outbox
+    AFTER UPDATE ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION write_task_outbox();
+
+CREATE TRIGGER tasks_deleted_outbox
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION write_task_outbox();
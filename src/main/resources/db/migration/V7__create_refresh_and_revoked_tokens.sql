@@ -0,0 +1,26 @@
+-- Refresh tokens: só o hash SHA-256 é guardado, e o refresh é uma busca pelo índice único do hash.
+-- Cada login abre uma família; cada refresh marca o token como usado e emite o próximo da mesma família.
+-- Um token já usado que volta a ser apresentado (vazado) revoga a família inteira.
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id          BIGSERIAL PRIMARY KEY,
+    token_hash  BYTEA       NOT NULL UNIQUE,
+    family_id   UUID        NOT NULL,
+    user_id     BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created_at  TIMESTAMPTZ NOT NULL DEFAULT now(),
+    expires_at  TIMESTAMPTZ NOT NULL,
+    used_at     TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family_id ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+-- Access tokens revogados antes do exp, pelo jti. Cada nó mantém a lista em memória e busca as
+-- revogações recentes pelo revoked_at; as linhas são apagadas quando o token expira.
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti         UUID PRIMARY KEY,
+    expires_at  TIMESTAMPTZ NOT NULL,
+    revoked_at  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,66 @@
+-- Importação em massa de tasks (COPY ... FROM STDIN, ver JdbcTaskTransferRepository).
+-- Defaults para as colunas que o arquivo importado pode omitir; o Hibernate continua
+-- informando todas. O ID vem da mesma sequence usada pelo Hibernate (um valor por linha).
+-- Em bancos criados pelo ddl-auto, tasks.id ainda é IDENTITY, que não aceita outro default.
+ALTER TABLE tasks ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tasks ALTER COLUMN id SET DEFAULT nextval('tasks_seq');
+SELECT setval('tasks_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tasks), (SELECT last_value FROM tasks_seq)));
+ALTER TABLE tasks ALTER COLUMN done SET DEFAULT false;
+ALTER TABLE tasks ALTER COLUMN created_at SET DEFAULT LOCALTIMESTAMP;
+
+-- Numa importação (app.bulk_import = on na transação), o statement pode ter milhões de linhas:
+-- a versão da lista de cada usuário ainda sobe e o evento é publicado, mas sem os IDs, cuja busca
+-- na tabela de transição (sem índice) seria uma varredura por usuário.
+CREATE OR REPLACE FUNCTION bump_user_task_version() RETURNS trigger AS $$
+DECLARE
+    changed RECORD;
+    bulk BOOLEAN := coalesce(current_setting('app.bulk_import', true), '') = 'on';
+BEGIN
+    FOR changed IN
+        UPDATE users u
+        SET task_version = u.task_version + 1,
+            tasks_modified_at = now()
+        WHERE u.id IN (SELECT DISTINCT user_id FROM changed_tasks)
+        RETURNING u.id, u.task_version
+    LOOP
+        PERFORM pg_notify('task_events', json_build_object(
+            'userId', changed.id,
+            'version', changed.task_version,
+            'type', CASE TG_OP
+                        WHEN 'INSERT' THEN 'CREATED'
+                        WHEN 'UPDATE' THEN 'UPDATED'
+                        ELSE 'DELETED'
+                    END,
+            'ids', CASE WHEN bulk THEN NULL
+                        ELSE (SELECT CASE WHEN count(*) <= 100 THEN json_agg(c.id ORDER BY c.id) END
+                              FROM changed_tasks c
+                              WHERE c.user_id = changed.id)
+                   END
+        )::text);
+    END LOOP;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Tasks importadas não geram eventos no outbox: uma migração de milhões de tasks não é
+-- uma sequência de mudanças para as integrações, que podem usar o export.
+CREATE OR REPLACE FUNCTION write_task_outbox() RETURNS trigger AS $$
+BEGIN
+    IF coalesce(current_setting('app.bulk_import', true), '') = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO task_outbox (user_id, task_id, type, payload)
+    SELECT c.user_id,
+           c.id,
+           CASE TG_OP
+               WHEN 'INSERT' THEN 'CREATED'
+               WHEN 'UPDATE' THEN 'UPDATED'
+               ELSE 'DELETED'
+           END,
+           to_jsonb(c)
+    FROM changed_tasks c
+    ORDER BY c.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,34 @@
+-- Copia as tasks existentes para tasks_partitioned (ver V9) em lotes de 5000, cada um na sua
+-- transação (por isso roda fora da transação da migration, ver .conf): nenhum lock é mantido
+-- além de um lote, e as escritas em tasks seguem durante a cópia.
+--
+-- FOR KEY SHARE: um DELETE concorrente espera o lote terminar, ou, se já foi confirmado, a linha
+-- é relida e pulada; sem isso, a cópia poderia trazer de volta uma task recém-excluída. Linhas
+-- atualizadas durante a cópia já estão na tabela nova pela escrita dupla, e o lote as ignora.
+DO $$
+DECLARE
+    last_id BIGINT := 0;
+    batch_last_id BIGINT;
+BEGIN
+    LOOP
+        WITH batch AS (
+            SELECT id, title, description, done, created_at, user_id, version
+            FROM tasks
+            WHERE id > last_id AND user_id IS NOT NULL
+            ORDER BY id
+            LIMIT 5000
+            FOR KEY SHARE
+        ), copied AS (
+            INSERT INTO tasks_partitioned (id, title, description, done, created_at, user_id, version)
+            SELECT id, title, description, done, created_at, user_id, version
+            FROM batch
+            ON CONFLICT (id, user_id) DO NOTHING
+        )
+        SELECT max(id) INTO batch_last_id FROM batch;
+
+        EXIT WHEN batch_last_id IS NULL;
+        last_id := batch_last_id;
+        COMMIT;
+    END LOOP;
+END;
+$$;
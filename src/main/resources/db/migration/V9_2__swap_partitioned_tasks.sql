@@ -0,0 +1,55 @@
+-- Último passo da troca online de V9: tasks_partitioned já tem todas as tasks (V9.1) e recebe
+-- cada escrita em tasks (triggers de V9). Só troca nomes, sem cópia: o lock exclusivo em tasks
+-- dura milissegundos, e statements que esperavam por ele passam a usar a tabela nova.
+LOCK TABLE tasks IN ACCESS EXCLUSIVE MODE;
+
+-- Leva junto os índices e triggers da tabela antiga, inclusive os da escrita dupla
+DROP TABLE tasks;
+DROP FUNCTION sync_tasks_partitioned();
+
+ALTER TABLE tasks_partitioned RENAME TO tasks;
+ALTER TABLE tasks RENAME CONSTRAINT tasks_partitioned_user_id_fkey TO tasks_user_id_fkey;
+ALTER INDEX tasks_partitioned_pkey RENAME TO tasks_pkey;
+ALTER INDEX idx_tasks_partitioned_user_created_id RENAME TO idx_tasks_user_created_id;
+ALTER INDEX idx_tasks_partitioned_user_open RENAME TO idx_tasks_user_open;
+ALTER INDEX idx_tasks_partitioned_search RENAME TO idx_tasks_search;
+
+-- Triggers de V4 e V6, agora na tabela particionada (valem para todas as partições)
+CREATE TRIGGER tasks_inserted_bump_version
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_user_task_version();
+
+CREATE TRIGGER tasks_updated_bump_version
+    AFTER UPDATE ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_user_task_version();
+
+CREATE TRIGGER tasks_deleted_bump_version
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_user_task_version();
+
+CREATE TRIGGER tasks_inserted_outbox
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION write_task_outbox();
+
+CREATE TRIGGER tasks_updated_outbox
+    AFTER UPDATE ON tasks
+    REFERENCING NEW TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION write_task_outbox();
+
+CREATE TRIGGER tasks_deleted_outbox
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS changed_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION write_task_outbox();
+
+-- Tasks em uso e arquivadas. Os filtros por user_id chegam às duas tabelas, e a ordenação por
+-- (created_at, id) com LIMIT intercala as duas varreduras de índice (Merge Append).
+CREATE VIEW task_history AS
+SELECT id, title, description, done, created_at, user_id, version, false AS archived
+FROM tasks
+UNION ALL
+SELECT id, title, description, done, created_at, user_id, version, true AS archived
+FROM tasks_archive;
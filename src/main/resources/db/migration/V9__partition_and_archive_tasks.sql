@@ -0,0 +1,125 @@
+-- tasks passa a ser particionada por hash de user_id (16 partições): toda consulta da API filtra
+-- pelo dono, então o PostgreSQL lê uma única partição, e índices e vacuum trabalham em tabelas
+-- 16 vezes menores. Tasks concluídas antigas vão para tasks_archive (TaskArchiver), que tem a
+-- mesma estrutura; a view task_history junta as duas para as listagens com includeArchived=true.
+--
+-- Uma tabela existente não vira particionada, e copiá-la numa única transação bloquearia as
+-- escritas até o fim da cópia. A troca é feita online, em três migrations:
+--   V9   cria tasks_partitioned e triggers em tasks que replicam nela cada escrita (curta)
+--   V9.1 copia as tasks existentes em lotes, cada um na sua transação
+--   V9.2 troca as tabelas: remove tasks e renomeia tasks_partitioned (curta, sem cópia)
+-- Durante a cópia, as instâncias ainda na versão anterior continuam escrevendo em tasks.
+
+-- A chave primária de uma tabela particionada precisa conter a chave de partição; o ID continua
+-- único, vindo da sequence. user_id passa a ser NOT NULL: tasks sem dono não eram acessíveis e
+-- não são copiadas.
+CREATE TABLE tasks_partitioned (
+    id          BIGINT       NOT NULL DEFAULT nextval('tasks_seq'),
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    done        BOOLEAN      NOT NULL DEFAULT false,
+    created_at  TIMESTAMP(6) DEFAULT LOCALTIMESTAMP,
+    user_id     BIGINT       NOT NULL REFERENCES users (id),
+    version     BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, user_id)
+) PARTITION BY HASH (user_id);
+
+CREATE TABLE tasks_archive (
+    id          BIGINT       NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    done        BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6),
+    user_id     BIGINT       NOT NULL REFERENCES users (id),
+    version     BIGINT       NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL DEFAULT LOCALTIMESTAMP,
+    PRIMARY KEY (id, user_id)
+) PARTITION BY HASH (user_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE tasks_p%s PARTITION OF tasks_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+        EXECUTE format('CREATE TABLE tasks_archive_p%s PARTITION OF tasks_archive FOR VALUES WITH (MODULUS 16, REMAINDER %s)', i, i);
+    END LOOP;
+END;
+$$;
+
+-- Mesmos índices de V2 e V3, criados já na tabela vazia: um índice de tabela particionada não pode
+-- ser CONCURRENTLY, e criá-lo depois da cópia bloquearia as escritas replicadas. Os nomes de V2 e V3
+-- ainda são dos índices de tasks; V9.2 renomeia estes.
+CREATE INDEX idx_tasks_partitioned_user_created_id ON tasks_partitioned (user_id, created_at, id);
+CREATE INDEX idx_tasks_partitioned_user_open ON tasks_partitioned (user_id, created_at, id) WHERE done = false;
+CREATE INDEX idx_tasks_partitioned_search
+    ON tasks_partitioned USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
+
+-- Candidatas do arquivamento: só as concluídas, pela data de criação
+CREATE INDEX idx_tasks_done_created ON tasks_partitioned (created_at) WHERE done = true;
+
+CREATE INDEX idx_tasks_archive_user_created_id ON tasks_archive (user_id, created_at, id);
+CREATE INDEX idx_tasks_archive_search
+    ON tasks_archive USING GIN (to_tsvector('simple', coalesce(title, '') || ' ' || coalesce(description, '')));
+
+-- Escrita dupla: cada statement em tasks é repetido em tasks_partitioned na mesma transação. O upsert
+-- vale tanto para linhas que a cópia já trouxe quanto para as que ela ainda vai trazer (e então ignora).
+-- O dono de uma task nunca muda, então a chave (id, user_id) de uma linha atualizada é a mesma.
+CREATE FUNCTION sync_tasks_partitioned() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM tasks_partitioned p
+        USING old_tasks o
+        WHERE p.id = o.id AND p.user_id = o.user_id;
+    ELSE
+        INSERT INTO tasks_partitioned (id, title, description, done, created_at, user_id, version)
+        SELECT id, title, description, done, created_at, user_id, version
+        FROM new_tasks
+        WHERE user_id IS NOT NULL
+        ON CONFLICT (id, user_id) DO UPDATE
+            SET title = excluded.title,
+                description = excluded.description,
+                done = excluded.done,
+                created_at = excluded.created_at,
+                version = excluded.version;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER tasks_inserted_sync_partitioned
+    AFTER INSERT ON tasks
+    REFERENCING NEW TABLE AS new_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_tasks_partitioned();
+
+CREATE TRIGGER tasks_updated_sync_partitioned
+    AFTER UPDATE ON tasks
+    REFERENCING NEW TABLE AS new_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_tasks_partitioned();
+
+CREATE TRIGGER tasks_deleted_sync_partitioned
+    AFTER DELETE ON tasks
+    REFERENCING OLD TABLE AS old_tasks
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_tasks_partitioned();
+
+-- Arquivar (app.task_archival = on na transação) não é uma exclusão para as integrações: o outbox
+-- é pulado, como na importação. A versão da lista ainda sobe, já que a listagem padrão muda.
+CREATE OR REPLACE FUNCTION write_task_outbox() RETURNS trigger AS $$
+BEGIN
+    IF coalesce(current_setting('app.bulk_import', true), '') = 'on'
+        OR coalesce(current_setting('app.task_archival', true), '') = 'on' THEN
+        RETURN NULL;
+    END IF;
+
+    INSERT INTO task_outbox (user_id, task_id, type, payload)
+    SELECT c.user_id,
+           c.id,
+           CASE TG_OP
+               WHEN 'INSERT' THEN 'CREATED'
+               WHEN 'UPDATE' THEN 'UPDATED'
+               ELSE 'DELETED'
+           END,
+           to_jsonb(c)
+    FROM changed_tasks c
+    ORDER BY c.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,103 @@
+package com.gabriel.cleanarch.application.task;
+
+import com.gabriel.cleanarch.PostgresIntegrationTest;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
+import com.gabriel.cleanarch.domain.user.User;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that reading a user's tasks runs a fixed number of SQL statements, whatever the number of tasks:
+ * tasks are read as {@code TaskView} projections, so no owner or lazy association is ever loaded per row.
+ */
+class TaskServiceStatementCountTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingRunsTheSameStatementsForOneTaskAndForFifty() {
+        Long fewTasks = userWithTasks(1);
+        Long manyTasks = userWithTasks(50);
+
+        // Versão da lista (ETag) e a página, sem nenhuma consulta por task
+        assertThat(statementsToList(fewTasks, TaskFilter.NONE)).isEqualTo(2);
+        assertThat(statementsToList(manyTasks, TaskFilter.NONE)).isEqualTo(2);
+
+        TaskFilter openTasks = new TaskFilter(false, null, null, "task", true, false);
+        assertThat(statementsToList(fewTasks, openTasks)).isEqualTo(2);
+        assertThat(statementsToList(manyTasks, openTasks)).isEqualTo(2);
+    }
+
+    @Test
+    void cachedFirstPageOnlyReadsTheListVersion() {
+        Long userId = userWithTasks(10);
+
+        assertThat(statementsToList(userId, TaskFilter.NONE)).isEqualTo(2);
+        assertThat(statementsToList(userId, TaskFilter.NONE)).isEqualTo(1);
+    }
+
+    @Test
+    void streamingRunsOneStatementForAnyNumberOfTasks() {
+        Long fewTasks = userWithTasks(1);
+        Long manyTasks = userWithTasks(50);
+
+        assertThat(statementsToStream(fewTasks)).isEqualTo(1);
+        assertThat(statementsToStream(manyTasks)).isEqualTo(1);
+    }
+
+    private long statementsToList(Long userId, TaskFilter filter) {
+        statistics.clear();
+        TaskListVersion version = taskService.findListVersion(userId);
+        TaskPage page = taskService.findPageByUser(userId, version, filter, null, 20);
+        assertThat(page.items()).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsToStream(Long userId) {
+        List<Long> ids = new ArrayList<>();
+        statistics.clear();
+        taskService.streamAllByUser(userId, task -> ids.add(task.id()));
+        assertThat(ids).isNotEmpty();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Long userWithTasks(int tasks) {
+        User user = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .password("{noop}test")
+                .role(Role.USER)
+                .build());
+        taskService.createTasks(user.getId(), IntStream.range(0, tasks)
+                .mapToObj(i -> new NewTask("task " + i, "descrição " + i))
+                .toList());
+        return user.getId();
+    }
+}
@@ -0,0 +1,111 @@
+package com.gabriel.cleanarch.infrastructure.archive;
+
+import com.gabriel.cleanarch.PostgresIntegrationTest;
+import com.gabriel.cleanarch.application.task.TaskEvent;
+import com.gabriel.cleanarch.application.task.TaskEventBroker;
+import com.gabriel.cleanarch.application.task.TaskEventSink;
+import com.gabriel.cleanarch.application.task.TaskEventSubscription;
+import com.gabriel.cleanarch.application.task.TaskService;
+import com.gabriel.cleanarch.domain.task.Task;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.User;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Checks that archiving moves old completed tasks out of {@code tasks}, tells the change feed they were archived
+ * rather than deleted, and leaves them read-only.
+ */
+class TaskArchiverTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskEventBroker broker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void archivesOldCompletedTasksAsArchivedEvents() {
+        Long userId = newUser();
+        Task old = taskService.createTask(userId, "Antiga", null);
+        Task open = taskService.createTask(userId, "Em aberto", null);
+        taskService.updateTask(userId, old.getId(), null, "Antiga", null, true);
+        jdbcTemplate.update("UPDATE tasks SET created_at = created_at - interval '100 days' WHERE user_id = ?", userId);
+
+        List<TaskEvent> events = new CopyOnWriteArrayList<>();
+        long version = taskService.findListVersion(userId).version();
+        TaskEventSubscription subscription = broker.subscribe(userId, version, new CollectingSink(events));
+        try {
+            new TaskArchiver(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(),
+                    Duration.ofDays(90), Duration.ofHours(1), 1000).archiveAll();
+
+            await().atMost(Duration.ofSeconds(10)).until(() -> !events.isEmpty());
+            assertThat(events).singleElement().satisfies(event -> {
+                assertThat(event.type()).isEqualTo(TaskEvent.Type.ARCHIVED);
+                assertThat(event.ids()).containsExactly(old.getId());
+            });
+        } finally {
+            subscription.cancel();
+        }
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tasks_archive WHERE id = ?", Integer.class, old.getId())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_outbox WHERE task_id = ? AND type = 'DELETED'", Integer.class, old.getId()))
+                .isZero();
+        // Somente leitura: some das operações por ID
+        assertThat(taskService.findByUser(userId, old.getId())).isEmpty();
+        assertThat(taskService.updateTask(userId, old.getId(), null, "Editada", null, false)).isFalse();
+        assertThat(taskService.deleteTask(userId, old.getId())).isFalse();
+        assertThat(taskService.findByUser(userId, open.getId())).isPresent();
+    }
+
+    private Long newUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .password("{noop}test")
+                .role(Role.USER)
+                .build()).getId();
+    }
+
+    private record CollectingSink(List<TaskEvent> events) implements TaskEventSink {
+
+        @Override
+        public void event(TaskEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void reset(long version) {
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void complete() {
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.gabriel.cleanarch.infrastructure.outbox;
+
+import com.gabriel.cleanarch.PostgresIntegrationTest;
+import com.gabriel.cleanarch.application.outbox.OutboxEvent;
+import com.gabriel.cleanarch.application.task.NewTask;
+import com.gabriel.cleanarch.application.task.TaskService;
+import com.gabriel.cleanarch.application.task.TaskTransferService;
+import com.gabriel.cleanarch.domain.task.Task;
+import com.gabriel.cleanarch.domain.task.TaskTransferFormat;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.User;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Checks that task changes written to the outbox reach the {@link InMemoryOutboxSink} in commit order,
+ * and leave the outbox once delivered; an import writes a single event per user.
+ */
+class OutboxRelayTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskTransferService taskTransferService;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Test
+    void relaysEachChangeOfATaskInOrder() {
+        Long userId = newUser();
+
+        Task task = taskService.createTask(userId, "Relatório", "Primeira versão");
+        taskService.updateTask(userId, task.getId(), null, "Relatório", "Segunda versão", true);
+        taskService.deleteTask(userId, task.getId());
+
+        List<OutboxEvent> events = awaitEvents(userId, 3);
+        assertThat(events).extracting(OutboxEvent::type).containsExactly("CREATED", "UPDATED", "DELETED");
+        assertThat(events).extracting(OutboxEvent::taskId).containsOnly(task.getId());
+        assertThat(events).extracting(OutboxEvent::id).isSorted();
+        assertThat(events.get(1).payload()).contains("Segunda versão");
+        awaitEmptyOutbox(userId);
+    }
+
+    @Test
+    void relaysOneEventPerTaskOfABatch() {
+        Long userId = newUser();
+
+        taskService.createTasks(userId, IntStream.range(0, 20)
+                .mapToObj(i -> new NewTask("task " + i, null))
+                .toList());
+
+        List<OutboxEvent> events = awaitEvents(userId, 20);
+        assertThat(events).extracting(OutboxEvent::type).containsOnly("CREATED");
+        assertThat(events).extracting(OutboxEvent::taskId).doesNotHaveDuplicates();
+        awaitEmptyOutbox(userId);
+    }
+
+    @Test
+    void relaysOneEventPerUserOfAnImport() throws IOException {
+        Long userId = newUser();
+        String csv = "user_id,title\n" + IntStream.range(0, 30)
+                .mapToObj(i -> userId + ",importada " + i)
+                .collect(Collectors.joining("\n"));
+
+        taskTransferService.importTasks(TaskTransferFormat.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        List<OutboxEvent> events = awaitEvents(userId, 1);
+        assertThat(events).singleElement().satisfies(event -> {
+            assertThat(event.type()).isEqualTo("IMPORTED");
+            assertThat(event.taskId()).isNull();
+            assertThat(event.payload()).isEqualToIgnoringWhitespace("{\"tasks\": 30}");
+        });
+        awaitEmptyOutbox(userId);
+    }
+
+    @Test
+    void backsOffABatchTheSinkFailsToFlush() {
+        OutboxRelay failingRelay = new OutboxRelay(jdbcTemplate, transactionTemplate, new InMemoryOutboxSink(100) {
+            @Override
+            public void flush() throws Exception {
+                throw new IOException("sink fora do ar");
+            }
+        }, new SimpleMeterRegistry(), 4, 500, Duration.ofMillis(500), Duration.ofSeconds(10), Duration.ofMinutes(5));
+        Long userId = newUser();
+
+        // O relay da aplicação fica parado para não entregar os eventos antes do relay com falha
+        relay.stop();
+        try {
+            taskService.createTask(userId, "Primeira", null);
+            taskService.createTask(userId, "Segunda", null);
+
+            failingRelay.relayAll();
+            assertThat(backoffs(userId)).hasSize(2).allSatisfy(backoff -> {
+                assertThat(backoff.get("attempts")).isEqualTo(1);
+                assertThat((Double) backoff.get("wait")).isBetween(5.0, 10.0);
+                assertThat((String) backoff.get("last_error")).contains("sink fora do ar");
+            });
+
+            // Já vencidos, os eventos voltam ao lote e o backoff dobra
+            jdbcTemplate.update("UPDATE task_outbox SET next_attempt_at = now() WHERE user_id = ?", userId);
+            failingRelay.relayAll();
+            assertThat(backoffs(userId)).hasSize(2).allSatisfy(backoff -> {
+                assertThat(backoff.get("attempts")).isEqualTo(2);
+                assertThat((Double) backoff.get("wait")).isBetween(15.0, 20.0);
+            });
+            jdbcTemplate.update("UPDATE task_outbox SET next_attempt_at = now() WHERE user_id = ?", userId);
+        } finally {
+            relay.start();
+        }
+
+        assertThat(awaitEvents(userId, 2)).extracting(OutboxEvent::type).containsExactly("CREATED", "CREATED");
+        awaitEmptyOutbox(userId);
+    }
+
+    private List<Map<String, Object>> backoffs(Long userId) {
+        return jdbcTemplate.queryForList("""
+                SELECT attempts, extract(epoch FROM next_attempt_at - now())::float8 AS wait, last_error
+                FROM task_outbox WHERE user_id = ?""", userId);
+    }
+
+    private List<OutboxEvent> awaitEvents(Long userId, int count) {
+        return await().atMost(Duration.ofSeconds(10)).until(
+                () -> sink.events().stream().filter(event -> event.userId().equals(userId)).toList(),
+                events -> events.size() >= count
+        );
+    }
+
+    private void awaitEmptyOutbox(Long userId) {
+        // Os eventos saem do outbox no commit do lote, logo depois de chegarem ao sink
+        await().atMost(Duration.ofSeconds(10)).until(() -> jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM task_outbox WHERE user_id = ?", Integer.class, userId) == 0);
+    }
+
+    private Long newUser() {
+        return userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .password("{noop}test")
+                .role(Role.USER)
+                .build()).getId();
+    }
+}
@@ -0,0 +1,134 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import com.gabriel.cleanarch.application.task.NewTask;
+import com.gabriel.cleanarch.application.task.TaskListCache;
+import com.gabriel.cleanarch.application.task.TaskPage;
+import com.gabriel.cleanarch.application.task.TaskService;
+import com.gabriel.cleanarch.domain.task.TaskFilter;
+import com.gabriel.cleanarch.domain.task.TaskView;
+import com.gabriel.cleanarch.domain.user.Role;
+import com.gabriel.cleanarch.domain.user.TaskListVersion;
+import com.gabriel.cleanarch.domain.user.User;
+import com.gabriel.cleanarch.domain.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the text filter of the task listing on H2, where {@value TaskFunctionContributor#TEXT_MATCH} falls back to a
+ * case-insensitive {@code LIKE}. The schema holds only the tables the listing reads, since the migrations are
+ * PostgreSQL-only.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "spring.jpa.properties.jakarta.persistence.database-product-name=H2"
+})
+@Import({TaskService.class, JpaTaskSearchRepository.class, JdbcTaskBatchRepository.class, TaskListCache.class,
+        JpaTaskSearchRepositoryH2Test.Cache.class})
+// Um statement por linha: sem ';', o @Sql separa os statements nas quebras de linha
+@Sql(executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS, statements = {
+        "CREATE SEQUENCE tasks_seq INCREMENT BY 50",
+        """
+        CREATE TABLE users ( \
+            id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, \
+            email VARCHAR(255) NOT NULL UNIQUE, \
+            password VARCHAR(255) NOT NULL, \
+            role VARCHAR(255), \
+            task_version BIGINT DEFAULT 0 NOT NULL, \
+            tasks_modified_at TIMESTAMP \
+        )""",
+        """
+        CREATE TABLE tasks ( \
+            id BIGINT PRIMARY KEY, \
+            title VARCHAR(255), \
+            description VARCHAR(255), \
+            done BOOLEAN NOT NULL, \
+            created_at TIMESTAMP, \
+            user_id BIGINT REFERENCES users (id), \
+            version BIGINT DEFAULT 0 NOT NULL \
+        )""",
+        """
+        CREATE VIEW task_history AS \
+        SELECT id, title, description, done, created_at, user_id, version, false AS archived FROM tasks"""
+})
+class JpaTaskSearchRepositoryH2Test {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findsTasksByTextInTheTitleOrDescription() {
+        Long userId = userWithTasks(List.of(
+                new NewTask("Relatório mensal", null),
+                new NewTask("Compras", "pão, leite e RELATÓRIO de gastos"),
+                new NewTask("Ligar para o banco", "agência 42")
+        ));
+
+        assertThat(titles(userId, new TaskFilter(null, null, null, "relatório", false, false)))
+                .containsExactly("Relatório mensal", "Compras");
+        assertThat(titles(userId, new TaskFilter(null, null, null, "BANCO", false, false)))
+                .containsExactly("Ligar para o banco");
+        assertThat(titles(userId, new TaskFilter(null, null, null, "viagem", false, false))).isEmpty();
+    }
+
+    @Test
+    void combinesTheTextWithTheOtherFilters() {
+        Long userId = userWithTasks(List.of(
+                new NewTask("Relatório de março", null),
+                new NewTask("Relatório de abril", null)
+        ));
+        Long otherUser = userWithTasks(List.of(new NewTask("Relatório de outro usuário", null)));
+
+        assertThat(titles(userId, new TaskFilter(false, null, null, "relatório", true, false)))
+                .containsExactly("Relatório de abril", "Relatório de março");
+        assertThat(titles(userId, new TaskFilter(true, null, null, "relatório", false, false))).isEmpty();
+        // Com includeArchived a mesma busca roda na view task_history
+        assertThat(titles(otherUser, new TaskFilter(null, null, null, "relatório", false, true)))
+                .containsExactly("Relatório de outro usuário");
+    }
+
+    private List<String> titles(Long userId, TaskFilter filter) {
+        TaskPage page = taskService.findPageByUser(userId, new TaskListVersion(0, null), filter, null, 20);
+        return page.items().stream().map(TaskView::title).toList();
+    }
+
+    private Long userWithTasks(List<NewTask> tasks) {
+        Long userId = userRepository.save(User.builder()
+                .email(UUID.randomUUID() + "@test.local")
+                .password("{noop}test")
+                .role(Role.USER)
+                .build()).getId();
+        taskService.createTasks(userId, tasks);
+        // A view não está entre as tabelas que o Hibernate sincroniza antes de uma consulta
+        entityManager.flush();
+        return userId;
+    }
+
+    @TestConfiguration
+    static class Cache {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(TaskListCache.CACHE_NAME);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.gabriel.cleanarch.infrastructure.persistence;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the online partitioning of {@code tasks} (migrations V9 to V9.2) one step at a time on a database that already
+ * holds tasks, writing to {@code tasks} between the steps as the previous version of the application would.
+ */
+class PartitionedTasksMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @BeforeAll
+    static void start() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Test
+    void copiesExistingTasksAndKeepsWritesMadeDuringTheCopy() {
+        DataSource dataSource = postgres.getPostgresDatabase();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Uma task sem dono, que não é copiada; o outbox (V6) já não aceita criá-la
+        migrate(dataSource, "5");
+        jdbcTemplate.update("INSERT INTO tasks (id, title, done) VALUES (nextval('tasks_seq'), 'sem dono', false)");
+
+        migrate(dataSource, "8");
+        jdbcTemplate.update("INSERT INTO users (email, password, role) VALUES ('a@test.local', 'x', 'USER')");
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users", Long.class);
+        // Mais de um lote da cópia
+        jdbcTemplate.update("INSERT INTO tasks (title, user_id) SELECT 'task ' || i, ? FROM generate_series(1, 12000) i",
+                userId);
+        Long updated = jdbcTemplate.queryForObject("SELECT min(id) FROM tasks WHERE user_id IS NOT NULL", Long.class);
+        Long deleted = jdbcTemplate.queryForObject("SELECT max(id) FROM tasks WHERE user_id IS NOT NULL", Long.class);
+
+        migrate(dataSource, "9");
+        // Escritas da versão anterior durante a migração
+        jdbcTemplate.update("UPDATE tasks SET title = 'atualizada', version = version + 1 WHERE id = ?", updated);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id = ?", deleted);
+        jdbcTemplate.update("INSERT INTO tasks (title, user_id) VALUES ('nova', ?)", userId);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks_partitioned", Long.class)).isEqualTo(2);
+
+        migrate(dataSource, "9.2");
+        assertThat(jdbcTemplate.queryForObject("SELECT relkind::text FROM pg_class WHERE relname = 'tasks'", String.class))
+                .isEqualTo("p");
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('tasks_partitioned')::text", String.class)).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks", Long.class)).isEqualTo(12000);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM tasks WHERE id = ?", String.class, updated))
+                .isEqualTo("atualizada");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE id = ?", Long.class, deleted)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE title = 'nova'", Long.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE tablename = 'tasks' AND indexname IN"
+                        + " ('tasks_pkey', 'idx_tasks_user_created_id', 'idx_tasks_user_open', 'idx_tasks_search')",
+                Long.class)).isEqualTo(4);
+
+        migrate(dataSource, "latest");
+        // Os triggers passaram para a tabela nova
+        long version = jdbcTemplate.queryForObject("SELECT task_version FROM users WHERE id = ?", Long.class, userId);
+        jdbcTemplate.update("INSERT INTO tasks (title, user_id) VALUES ('depois', ?)", userId);
+        assertThat(jdbcTemplate.queryForObject("SELECT task_version FROM users WHERE id = ?", Long.class, userId))
+                .isEqualTo(version + 1);
+    }
+
+    private static void migrate(DataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .target(target)
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+    }
+}
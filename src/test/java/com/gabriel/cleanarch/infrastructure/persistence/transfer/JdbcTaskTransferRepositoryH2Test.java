@@ -0,0 +1,137 @@
+package com.gabriel.cleanarch.infrastructure.persistence.transfer;
+
+import com.gabriel.cleanarch.domain.task.TaskTransferFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the multi-row {@code INSERT} path of the import and export, used on databases without {@code COPY},
+ * against an in-memory H2 database holding only the tables it touches.
+ */
+class JdbcTaskTransferRepositoryH2Test {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTaskTransferRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE SEQUENCE tasks_seq INCREMENT BY 50");
+        jdbcTemplate.execute("CREATE TABLE users (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("""
+                CREATE TABLE tasks (
+                    id BIGINT DEFAULT NEXT VALUE FOR tasks_seq PRIMARY KEY,
+                    title VARCHAR(255) NOT NULL,
+                    description VARCHAR(255),
+                    done BOOLEAN DEFAULT false NOT NULL,
+                    created_at TIMESTAMP DEFAULT LOCALTIMESTAMP NOT NULL,
+                    user_id BIGINT NOT NULL REFERENCES users (id)
+                )""");
+        jdbcTemplate.execute("""
+                CREATE VIEW task_history AS
+                SELECT id, title, description, done, created_at, user_id FROM tasks""");
+        jdbcTemplate.update("INSERT INTO users (id) VALUES (1), (2)");
+
+        repository = new JdbcTaskTransferRepository(jdbcTemplate, Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    void importsCsvInChunksOfRows() throws IOException {
+        String csv = "user_id,title\n" + IntStream.range(0, 1201)
+                .mapToObj(i -> (i % 2 + 1) + ",task " + i)
+                .collect(Collectors.joining("\n"));
+
+        assertThat(repository.importTasks(TaskTransferFormat.CSV, file(csv))).isEqualTo(1201);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(DISTINCT id) FROM tasks", Long.class)).isEqualTo(1201);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM tasks WHERE done", Long.class)).isZero();
+    }
+
+    @Test
+    void readsCsvFieldsAsCopyDoes() throws IOException {
+        String csv = """
+                title,user_id,description,done,created_at
+                "Comprar pão, leite",1,,t,2024-01-01 10:00:00
+                Ligar,2,"",false,2024-01-02T08:30:00
+                """;
+
+        assertThat(repository.importTasks(TaskTransferFormat.CSV, file(csv))).isEqualTo(2);
+        Map<String, Object> first = jdbcTemplate.queryForMap("SELECT * FROM tasks WHERE user_id = 1");
+        assertThat(first.get("title")).isEqualTo("Comprar pão, leite");
+        assertThat(first.get("description")).isNull();
+        assertThat(first.get("done")).isEqualTo(true);
+        assertThat(first.get("created_at").toString()).startsWith("2024-01-01 10:00:00");
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM tasks WHERE user_id = 2", String.class))
+                .isEmpty();
+    }
+
+    @Test
+    void importsNdjsonWithDefaults() throws IOException {
+        String ndjson = """
+                {"userId":1,"title":"Comprar pão","done":true,"createdAt":"2024-01-01T10:00:00"}
+                {"userId":2,"title":"Ligar"}
+                """;
+
+        assertThat(repository.importTasks(TaskTransferFormat.NDJSON, file(ndjson))).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT done FROM tasks WHERE user_id = 2", Boolean.class)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT created_at FROM tasks WHERE user_id = 2", Object.class))
+                .isNotNull();
+    }
+
+    @Test
+    void rejectsInvalidRows() {
+        assertThatThrownBy(() -> repository.importTasks(TaskTransferFormat.CSV, file("user_id,title\nx,a\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("linha 2");
+        assertThatThrownBy(() -> repository.importTasks(TaskTransferFormat.CSV, file("user_id,title\n1\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> repository.importTasks(TaskTransferFormat.NDJSON, file("{\"title\":\"a\"}\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("userId");
+        assertThatThrownBy(() -> repository.importTasks(TaskTransferFormat.CSV, file("user_id,title\n3,a\n")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void exportsWhatItImports() throws IOException {
+        String csv = """
+                user_id,title,description,done,created_at
+                1,"Comprar pão, leite",,true,2024-01-01 10:00:00
+                1,"",Sem título,false,2024-01-02 08:30:00
+                2,Ligar,,false,2024-01-03 09:00:00
+                """;
+        repository.importTasks(TaskTransferFormat.CSV, file(csv));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(repository.exportTasks(TaskTransferFormat.CSV, 1L, out)).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(csv.lines()
+                .filter(line -> !line.startsWith("2,"))
+                .collect(Collectors.joining("\n", "", "\n")));
+
+        out.reset();
+        assertThat(repository.exportTasks(TaskTransferFormat.NDJSON, 2L, out)).isEqualTo(1);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "{\"userId\":2,\"title\":\"Ligar\",\"description\":null,\"done\":false,"
+                        + "\"createdAt\":\"2024-01-03T09:00:00\"}\n");
+    }
+
+    private static ByteArrayInputStream file(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}